@@ -0,0 +1,258 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import IO.BufferPool;
+
+// Binary codec for UnorderedArray and OrderedArray over NIO channels.
+// Layout: magic, capacity, count, then count fixed-width ints, all big-endian.
+// The slotted layout for UnorderedArray stores count (slot, value) pairs instead, so every
+// element comes back in the slot it left.
+// Values are packed into pooled direct buffers with bulk IntBuffer transfers, so a
+// checkpoint costs one channel write per buffer rather than one allocation per element.
+// Arrays in bitmap mode are streamed straight from their bitmap containers.
+// Reads never consume bytes past the end of the array, so several arrays can share a channel.
+public class ArrayCodec {
+    static final int UNORDERED_MAGIC = 0x55415231; // "UAR1"
+    static final int ORDERED_MAGIC = 0x4F415231;   // "OAR1"
+    static final int SLOTTED_MAGIC = 0x55415331;   // "UAS1"
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    private final BufferPool pool;
+
+    // Constructor using the shared buffer pool
+    public ArrayCodec() {
+        this(BufferPool.DEFAULT);
+    }
+
+    // Constructor borrowing I/O buffers from the given pool
+    public ArrayCodec(BufferPool pool) {
+        if (pool.bufferSize() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Pool buffers must hold at least " + HEADER_BYTES + " bytes.");
+        }
+        this.pool = pool;
+    }
+
+    // Write method for UnorderedArray
+    // Empty slots are skipped, so reading back packs the elements at the front
+    // Time complexity: O(n)
+    public void write(UnorderedArray array, WritableByteChannel channel) throws IOException {
+        if (array.bitmap() != null) {
+            writeValues(UNORDERED_MAGIC, array.size(), array.count(), bitmapValues(array.bitmap()), channel);
+            return;
+        }
+        writeValues(UNORDERED_MAGIC, array.size(), array.count(), new ValueSource() {
+            private int slot;
+
+            @Override
+            public int next() {
+                Integer value;
+                while ((value = array.slot(slot++)) == null) {
+                    // Skip empty slots
+                }
+                return value;
+            }
+        }, channel);
+    }
+
+    // Write method for OrderedArray
+    // Time complexity: O(n)
+    public void write(OrderedArray array, WritableByteChannel channel) throws IOException {
+        if (array.bitmap() != null) {
+            writeValues(ORDERED_MAGIC, array.size(), array.count(), bitmapValues(array.bitmap()), channel);
+            return;
+        }
+        writeValues(ORDERED_MAGIC, array.size(), array.count(), new ValueSource() {
+            private int slot; // Elements are packed at the front
+
+            @Override
+            public int next() {
+                return array.slot(slot++);
+            }
+        }, channel);
+    }
+
+    // Values of an array in bitmap mode, in ascending order, streamed from its containers
+    private static ValueSource bitmapValues(IntBitmapSet bitmap) {
+        IntBitmapSet.Cursor cursor = bitmap.cursor();
+        return new ValueSource() {
+            @Override
+            public int next() {
+                return cursor.next();
+            }
+        };
+    }
+
+    // Slot-preserving write method for UnorderedArray
+    // Unlike write(), indices returned by find() stay valid across a round trip, and later
+    // inserts, deletes and shrinking resizes behave exactly as they would have on the original
+    // Time complexity: O(n)
+    public void writeSlotted(UnorderedArray array, WritableByteChannel channel) throws IOException {
+        int capacity = array.size();
+        int count = array.count();
+        // In bitmap mode the values fill the first count slots in ascending order
+        IntBitmapSet.Cursor values = array.bitmap() != null ? array.bitmap().cursor() : null;
+        ByteBuffer buffer = pool.acquire();
+        try {
+            buffer.putInt(SLOTTED_MAGIC).putInt(capacity).putInt(count);
+            int slot = 0;
+            while (true) {
+                // Pack as many whole pairs as fit behind the buffer's current contents
+                IntBuffer ints = buffer.asIntBuffer();
+                while (ints.remaining() >= 2 && slot < capacity) {
+                    Integer value = values == null ? array.slot(slot) : values.hasNext() ? values.next() : null;
+                    if (value != null) ints.put(slot).put(value);
+                    slot++;
+                }
+                buffer.position(buffer.position() + ints.position() * Integer.BYTES);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+                if (slot == capacity) break;
+            }
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    // Read method for the slotted layout
+    // Also accepts write()'s packed layout, whose elements then sit at the front
+    // Time complexity: O(n)
+    public UnorderedArray readSlotted(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = pool.acquire();
+        try {
+            readExactly(channel, buffer, HEADER_BYTES);
+            int magic = buffer.getInt();
+            if (magic != SLOTTED_MAGIC && magic != UNORDERED_MAGIC) {
+                throw new IOException("Not an array stream of the expected type");
+            }
+            int capacity = buffer.getInt();
+            int count = buffer.getInt();
+            if (capacity < 0 || count < 0 || count > capacity) {
+                throw new IOException("Corrupt array stream: capacity " + capacity + ", count " + count);
+            }
+            int[] pairs = new int[magic == SLOTTED_MAGIC ? 2 * count : count];
+            int filled = 0;
+            int perBuffer = buffer.capacity() / Integer.BYTES;
+            while (filled < pairs.length) {
+                int batch = Math.min(pairs.length - filled, perBuffer);
+                readExactly(channel, buffer, batch * Integer.BYTES);
+                buffer.asIntBuffer().get(pairs, filled, batch);
+                filled += batch;
+            }
+            if (magic == UNORDERED_MAGIC) {
+                UnorderedArray array = new UnorderedArray(capacity);
+                array.bulkLoad(pairs, count);
+                return array;
+            }
+            try {
+                return UnorderedArray.withSlots(capacity, pairs, count);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt slotted array stream: " + e.getMessage(), e);
+            }
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    // Read method for UnorderedArray
+    // Time complexity: O(n)
+    public UnorderedArray readUnordered(ReadableByteChannel channel) throws IOException {
+        int[] header = new int[2];
+        int[] values = readValues(UNORDERED_MAGIC, channel, header);
+        UnorderedArray array = new UnorderedArray(header[0]);
+        array.bulkLoad(values, header[1]);
+        return array;
+    }
+
+    // Read method for OrderedArray
+    // Values go straight into a sorted bulk load instead of one insert per element
+    // Time complexity: O(n)
+    public OrderedArray readOrdered(ReadableByteChannel channel) throws IOException {
+        int[] header = new int[2];
+        int[] values = readValues(ORDERED_MAGIC, channel, header);
+        OrderedArray array = new OrderedArray(header[0]);
+        try {
+            array.bulkLoad(values, header[1]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt ordered array stream: " + e.getMessage(), e);
+        }
+        return array;
+    }
+
+    // Stream of the stored values shared by both array types; next() is called once per value
+    private interface ValueSource {
+        int next();
+    }
+
+    private void writeValues(int magic, int capacity, int count, ValueSource source, WritableByteChannel channel)
+            throws IOException {
+        ByteBuffer buffer = pool.acquire();
+        try {
+            buffer.putInt(magic).putInt(capacity).putInt(count);
+            int written = 0;
+            while (true) {
+                // Pack as many values as fit behind the buffer's current contents
+                IntBuffer ints = buffer.asIntBuffer();
+                while (ints.hasRemaining() && written < count) {
+                    ints.put(source.next());
+                    written++;
+                }
+                buffer.position(buffer.position() + ints.position() * Integer.BYTES);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+                if (written == count) break;
+            }
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    // Reads the header into header[0] (capacity) and header[1] (count) and returns the values
+    private int[] readValues(int magic, ReadableByteChannel channel, int[] header) throws IOException {
+        ByteBuffer buffer = pool.acquire();
+        try {
+            readExactly(channel, buffer, HEADER_BYTES);
+            if (buffer.getInt() != magic) {
+                throw new IOException("Not an array stream of the expected type");
+            }
+            int capacity = buffer.getInt();
+            int count = buffer.getInt();
+            if (capacity < 0 || count < 0 || count > capacity) {
+                throw new IOException("Corrupt array stream: capacity " + capacity + ", count " + count);
+            }
+            int[] values = new int[count];
+            int filled = 0;
+            while (filled < count) {
+                int batch = Math.min(count - filled, buffer.capacity() / Integer.BYTES);
+                readExactly(channel, buffer, batch * Integer.BYTES);
+                buffer.asIntBuffer().get(values, filled, batch);
+                filled += batch;
+            }
+            header[0] = capacity;
+            header[1] = count;
+            return values;
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    // Fills the buffer with exactly the given number of bytes and flips it for reading
+    private static void readExactly(ReadableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.clear().limit(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Array stream ended early");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,207 @@
+import java.util.Arrays;
+
+// Read-only, compressed snapshot of a sorted int set (frame-of-reference delta blocks).
+// Keys are split into blocks of 128. Each block stores its first key in a small head array and
+// the 127 gaps to the following keys bit-packed at the width of the block's largest gap, so
+// dense or clustered sets take one or two bytes per key instead of a boxed Integer each.
+// find() binary searches the block heads and then decodes a single block; range scans decode
+// blocks sequentially. Build one from an OrderedArray (or a sorted int[]) once writes settle.
+public class CompressedOrderedArray {
+    private static final int BLOCK_SHIFT = 7;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT; // Keys per block
+
+    private final int[] heads;   // First key of each block
+    private final int[] offsets; // Index into data where each block's packed gaps start
+    private final byte[] widths; // Bits per gap in each block (0..32)
+    private final long[] data;   // Bit-packed gaps, each block starting on a word boundary
+    private final int count;     // Number of keys
+
+    // Constructor
+    // Compresses the first count values, which must be in ascending order
+    // Time complexity: O(n)
+    public CompressedOrderedArray(int[] sorted, int count) {
+        if (count < 0 || count > sorted.length) {
+            throw new IllegalArgumentException("Count must be between 0 and the number of values.");
+        }
+        for (int i = 1; i < count; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("Values are not in ascending order at index " + i + ".");
+            }
+        }
+        int blocks = (count + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        this.count = count;
+        this.heads = new int[blocks];
+        this.offsets = new int[blocks];
+        this.widths = new byte[blocks];
+
+        // First pass: pick each block's width and lay the blocks out
+        int words = 0;
+        for (int b = 0; b < blocks; b++) {
+            int start = b << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, count);
+            long maxGap = 0;
+            for (int i = start + 1; i < end; i++) {
+                maxGap = Math.max(maxGap, (long) sorted[i] - sorted[i - 1]);
+            }
+            int width = 64 - Long.numberOfLeadingZeros(maxGap);
+            heads[b] = sorted[start];
+            widths[b] = (byte) width;
+            offsets[b] = words;
+            words += (int) (((long) (end - start - 1) * width + 63) >>> 6);
+        }
+
+        // Second pass: pack the gaps
+        this.data = new long[words];
+        for (int b = 0; b < blocks; b++) {
+            int start = b << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, count);
+            int width = widths[b];
+            long bit = (long) offsets[b] << 6;
+            for (int i = start + 1; i < end && width > 0; i++, bit += width) {
+                long gap = (long) sorted[i] - sorted[i - 1];
+                int word = (int) (bit >>> 6);
+                int shift = (int) (bit & 63);
+                data[word] |= gap << shift;
+                if (shift + width > 64) {
+                    data[word + 1] |= gap >>> (64 - shift);
+                }
+            }
+        }
+    }
+
+    // Factory method
+    // Compresses the current contents of an OrderedArray
+    // Time complexity: O(n)
+    public static CompressedOrderedArray from(OrderedArray array) {
+        if (array.bitmap() != null) {
+            int[] values = array.bitmap().toArray();
+            return new CompressedOrderedArray(values, values.length);
+        }
+        int[] values = new int[array.size()];
+        int n = 0;
+        for (int i = 0; i < array.size(); i++) {
+            Integer value = array.slot(i);
+            if (value != null) values[n++] = value;
+        }
+        return new CompressedOrderedArray(values, n);
+    }
+
+    // Find method
+    // Returns the index of an element equal to x, or -1
+    // Time complexity: O(log(n / 128) + 128)
+    public int find(int x) {
+        int b = Arrays.binarySearch(heads, x);
+        if (b >= 0) {
+            return b << BLOCK_SHIFT;
+        }
+        b = -b - 2; // Last block starting below x
+        if (b < 0) {
+            return -1;
+        }
+        int start = b << BLOCK_SHIFT;
+        int end = Math.min(start + BLOCK_SIZE, count);
+        int width = widths[b];
+        long bit = (long) offsets[b] << 6;
+        long value = heads[b];
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                value += unpack(bit, width);
+                bit += width;
+            }
+            if (value == x) return i;
+            if (value > x) return -1;
+        }
+        return -1;
+    }
+
+    // Get method
+    // Time complexity: O(128)
+    public int get(int index) {
+        if (index < 0 || index >= count) {
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds.");
+        }
+        int b = index >>> BLOCK_SHIFT;
+        int width = widths[b];
+        long bit = (long) offsets[b] << 6;
+        long value = heads[b];
+        for (int i = index & (BLOCK_SIZE - 1); i > 0; i--, bit += width) {
+            value += unpack(bit, width);
+        }
+        return (int) value;
+    }
+
+    // Range method
+    // Copies elements in [from, to] into out, in order, up to out.length of them
+    // Returns the number copied
+    // Time complexity: O(log(n / 128) + k)
+    public int range(int from, int to, int[] out) {
+        int copied = 0;
+        int b = Math.max(0, firstBlockFor(from));
+        for (; b < heads.length && copied < out.length; b++) {
+            if (heads[b] > to) break;
+            int start = b << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, count);
+            int width = widths[b];
+            long bit = (long) offsets[b] << 6;
+            long value = heads[b];
+            for (int i = start; i < end && copied < out.length; i++) {
+                if (i > start) {
+                    value += unpack(bit, width);
+                    bit += width;
+                }
+                if (value > to) return copied;
+                if (value >= from) out[copied++] = (int) value;
+            }
+        }
+        return copied;
+    }
+
+    // Size method
+    // Time complexity: O(1)
+    public int size() {
+        return count;
+    }
+
+    // Memory method
+    // Approximate bytes held by the compressed arrays (excluding object headers)
+    // Time complexity: O(1)
+    public long memoryBytes() {
+        return 4L * heads.length + 4L * offsets.length + widths.length + 8L * data.length;
+    }
+
+    // Decompression method
+    // Expands back into an OrderedArray of the given size for further updates
+    // Time complexity: O(n)
+    public OrderedArray toOrderedArray(int size) {
+        int[] values = new int[count];
+        int copied = range(Integer.MIN_VALUE, Integer.MAX_VALUE, values);
+        OrderedArray array = new OrderedArray(size);
+        array.bulkLoad(values, copied);
+        return array;
+    }
+
+    // First block that can hold a key >= x, or -1 if x precedes every key
+    // Copies of x may end the block before the first head equal to x, so the search backs up
+    private int firstBlockFor(int x) {
+        int b = Arrays.binarySearch(heads, x);
+        if (b < 0) {
+            return -b - 2;
+        }
+        while (b > 0 && heads[b - 1] == x) {
+            b--;
+        }
+        return b > 0 ? b - 1 : b;
+    }
+
+    // Reads width bits starting at the given bit position
+    private long unpack(long bit, int width) {
+        if (width == 0) return 0;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = data[word] >>> shift;
+        if (shift + width > 64) {
+            value |= data[word + 1] << (64 - shift);
+        }
+        return value & ((1L << width) - 1);
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+// Write path shared by DurableOrderedArray and DurableUnorderedArray, each backed by a
+// WriteAheadLog in its own directory.
+// Each insert, delete and resize is applied in memory and appended to the log in one critical
+// section, so the log order is the apply order, and the call returns once the record is as
+// durable as the sync policy promises. Writers on different threads wait for the log
+// together, so under EVERY_COMMIT one fsync covers all of them (group commit).
+// Opening a directory recovers the array from its newest snapshot and the logs after it.
+// Once the log passes the compaction threshold, a background thread snapshots the array
+// and deletes the older files.
+// Reads see a change as soon as it is applied, before it is durable.
+// After an I/O error every write fails; reopen the directory to recover.
+public abstract class DurableArray implements Closeable {
+    // Log size that triggers background compaction by default
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+
+    // Guards the array; subclasses read it under this lock
+    final Object lock = new Object();
+    final ArrayCodec codec = new ArrayCodec();
+    private final WriteAheadLog log;
+    private boolean closed;
+
+    // Constructor
+    // Subclasses set up their initial array and then call open()
+    DurableArray(Path directory, WriteAheadLog.SyncPolicy policy, long syncIntervalMillis) throws IOException {
+        log = new WriteAheadLog(directory, policy, syncIntervalMillis);
+    }
+
+    // Recovers the array from the directory, or snapshots the initial array into a new one
+    // Time complexity: O(snapshot + log records)
+    final void open(long compactionThreshold) throws IOException {
+        try {
+            log.setSnapshotSource(lock, this::writeSnapshot, compactionThreshold);
+            log.recover(this::readSnapshot, this::replay);
+        } catch (IOException | RuntimeException e) {
+            try {
+                log.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    // Insertion method
+    // Time complexity: that of the array, plus a log write shared with concurrent writers
+    public void insert(int x) throws IOException {
+        long lsn;
+        synchronized (lock) {
+            ensureWritable();
+            applyInsert(x);
+            lsn = log.append(WriteAheadLog.INSERT, x);
+        }
+        log.awaitDurable(lsn);
+    }
+
+    // Deletion method
+    // Only deletions that remove an element are logged
+    // Time complexity: that of the array, plus a log write shared with concurrent writers
+    public boolean delete(int x) throws IOException {
+        long lsn;
+        synchronized (lock) {
+            ensureWritable();
+            if (!applyDelete(x)) return false;
+            lsn = log.append(WriteAheadLog.DELETE, x);
+        }
+        log.awaitDurable(lsn);
+        return true;
+    }
+
+    // Resize method
+    // Time complexity: O(n) plus a log write shared with concurrent writers
+    public void resize(int newSize) throws IOException {
+        long lsn;
+        synchronized (lock) {
+            ensureWritable();
+            applyResize(newSize);
+            lsn = log.append(WriteAheadLog.RESIZE, newSize);
+        }
+        log.awaitDurable(lsn);
+    }
+
+    // Compaction method
+    // Snapshots the array now instead of waiting for the log to reach the threshold
+    // Time complexity: O(n)
+    public void compact() throws IOException {
+        log.compact();
+    }
+
+    // Returns the log, e.g. to inspect its generation, size or last compaction failure
+    public WriteAheadLog log() {
+        return log;
+    }
+
+    // Close method
+    // Waits for background compaction and forces the log
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+        }
+        log.close();
+    }
+
+    // Mutations of the in-memory array, called under lock
+    abstract void applyInsert(int x);
+
+    abstract boolean applyDelete(int x);
+
+    abstract void applyResize(int newSize);
+
+    // Snapshot format of the array; writeSnapshot is called under lock
+    abstract void writeSnapshot(WritableByteChannel channel) throws IOException;
+
+    abstract void readSnapshot(ReadableByteChannel channel) throws IOException;
+
+    private void ensureWritable() throws IOException {
+        if (closed) {
+            throw new IOException("Array is closed.");
+        }
+        log.ensureWritable();
+    }
+
+    // Applies one logged record during recovery
+    private void replay(byte op, int argument) throws IOException {
+        switch (op) {
+            case WriteAheadLog.INSERT:
+                applyInsert(argument);
+                break;
+            case WriteAheadLog.DELETE:
+                applyDelete(argument);
+                break;
+            case WriteAheadLog.RESIZE:
+                applyResize(argument);
+                break;
+            default:
+                throw new IOException("Unknown log record type " + op + ".");
+        }
+    }
+}
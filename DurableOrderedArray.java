@@ -0,0 +1,71 @@
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+// Crash-safe OrderedArray backed by a WriteAheadLog in its own directory; see DurableArray.
+// Snapshots use the ArrayCodec format.
+public class DurableOrderedArray extends DurableArray {
+    private OrderedArray array;
+
+    // Constructor forcing every commit to the device
+    // Opens or creates the directory; size is the capacity of a new array, while a recovered
+    // array keeps its logged capacity
+    public DurableOrderedArray(Path directory, int size) throws IOException {
+        this(directory, size, WriteAheadLog.SyncPolicy.EVERY_COMMIT, 0, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Constructor with a sync policy (syncIntervalMillis is only used by INTERVAL) and a
+    // compaction threshold in log bytes (0 disables background compaction)
+    // Time complexity: O(snapshot + log records)
+    public DurableOrderedArray(Path directory, int size, WriteAheadLog.SyncPolicy policy,
+                               long syncIntervalMillis, long compactionThreshold) throws IOException {
+        super(directory, policy, syncIntervalMillis);
+        array = new OrderedArray(size);
+        open(compactionThreshold);
+    }
+
+    // Find method
+    // Time complexity: O(log n)
+    public int find(int x) {
+        synchronized (lock) {
+            return array.find(x);
+        }
+    }
+
+    // Get method
+    // Time complexity: O(1)
+    public int get(int index) {
+        synchronized (lock) {
+            return array.get(index);
+        }
+    }
+
+    // Size method
+    // Time complexity: O(1)
+    public int size() {
+        synchronized (lock) {
+            return array.size();
+        }
+    }
+
+    void applyInsert(int x) {
+        array.insert(x);
+    }
+
+    boolean applyDelete(int x) {
+        return array.delete(x);
+    }
+
+    void applyResize(int newSize) {
+        array.resize(newSize);
+    }
+
+    void writeSnapshot(WritableByteChannel channel) throws IOException {
+        codec.write(array, channel);
+    }
+
+    void readSnapshot(ReadableByteChannel channel) throws IOException {
+        array = codec.readOrdered(channel);
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+// Crash-safe UnorderedArray backed by a WriteAheadLog in its own directory; see DurableArray.
+// Snapshots use ArrayCodec's slotted layout, which keeps every element in its slot, so
+// compaction leaves the live array alone, indices returned by find() survive compaction and
+// recovery, and replayed inserts and shrinking resizes hit the same slots they did originally.
+public class DurableUnorderedArray extends DurableArray {
+    private UnorderedArray array;
+
+    // Constructor forcing every commit to the device
+    // Opens or creates the directory; size is the capacity of a new array, while a recovered
+    // array keeps its logged capacity
+    public DurableUnorderedArray(Path directory, int size) throws IOException {
+        this(directory, size, WriteAheadLog.SyncPolicy.EVERY_COMMIT, 0, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    // Constructor with a sync policy (syncIntervalMillis is only used by INTERVAL) and a
+    // compaction threshold in log bytes (0 disables background compaction)
+    // Time complexity: O(snapshot + log records)
+    public DurableUnorderedArray(Path directory, int size, WriteAheadLog.SyncPolicy policy,
+                                 long syncIntervalMillis, long compactionThreshold) throws IOException {
+        super(directory, policy, syncIntervalMillis);
+        array = new UnorderedArray(size);
+        open(compactionThreshold);
+    }
+
+    // Find method
+    // Time complexity: O(n)
+    public int find(int x) {
+        synchronized (lock) {
+            return array.find(x);
+        }
+    }
+
+    // Contains method
+    // Time complexity: O(n)
+    public boolean contains(int x) {
+        synchronized (lock) {
+            return array.contains(x);
+        }
+    }
+
+    // Get method
+    // Time complexity: O(1)
+    public int get(int index) {
+        synchronized (lock) {
+            return array.get(index);
+        }
+    }
+
+    // Size method
+    // Time complexity: O(1)
+    public int size() {
+        synchronized (lock) {
+            return array.size();
+        }
+    }
+
+    // Count method
+    // Time complexity: O(n)
+    public int count() {
+        synchronized (lock) {
+            return array.count();
+        }
+    }
+
+    void applyInsert(int x) {
+        array.insert(x);
+    }
+
+    boolean applyDelete(int x) {
+        return array.delete(x);
+    }
+
+    void applyResize(int newSize) {
+        array.resize(newSize);
+    }
+
+    void writeSnapshot(WritableByteChannel channel) throws IOException {
+        codec.writeSlotted(array, channel);
+    }
+
+    void readSnapshot(ReadableByteChannel channel) throws IOException {
+        array = codec.readSlotted(channel);
+    }
+}
@@ -0,0 +1,428 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import IO.BufferPool;
+
+// External merge sort that builds an OrderedArray, or an ArrayCodec snapshot of one, from a
+// flat file of 4-byte ints that can be far larger than the heap.
+// Phase 1 reads the input sequentially through a large direct buffer into a run buffer, sorts
+// the run with Arrays.parallelSort on the common pool and spills it to a temporary file. Spills
+// run on a background thread while the next run is read and sorted, so the disk and the CPUs
+// work at the same time.
+// Phase 2 merges the runs through a binary heap of run indices keyed by primitive int heads,
+// reading each run through its own buffer. If more runs exist than buffers fit in memory,
+// groups of runs are first merged into longer runs.
+// Working memory stays within memoryBytes: during phase 1 the input and spill buffers plus
+// three run-sized int arrays (two runs, and the scratch array parallelSort allocates for the
+// run it sorts), during phase 2 one buffer per merged run plus the output buffer. The buffer
+// of a snapshot's output file is taken out of the budget first; an OrderedArray result comes
+// on top of it. All I/O buffers have one size and come from a pool owned by this instance,
+// so spills, merges and later ingests reuse them. Temporary files are deleted before returning.
+public class ExternalSortIngest {
+    // Smallest supported memory budget
+    public static final long MIN_MEMORY_BYTES = 256 * 1024;
+
+    private static final int MIN_IO_BUFFER = 64 * 1024;
+    private static final int MAX_IO_BUFFER = 4 * 1024 * 1024;
+    private static final int IO_BUFFER_SHARE = 64; // I/O buffers are 1/64 of the budget, within bounds
+    private static final int MAX_FAN_IN = 1024; // Keeps open files well below common limits
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final long memoryBytes;
+    private final Path tempDirectory;
+    private final ByteOrder inputOrder;
+    private final BufferPool pool;
+
+    // Constructor for big-endian input, spilling to the default temporary directory
+    public ExternalSortIngest(long memoryBytes) {
+        this(memoryBytes, Path.of(System.getProperty("java.io.tmpdir")), ByteOrder.BIG_ENDIAN);
+    }
+
+    // Constructor
+    // memoryBytes bounds the working memory, tempDirectory receives the sorted runs (ideally
+    // on a different disk from the input) and inputOrder is the byte order of the input file
+    public ExternalSortIngest(long memoryBytes, Path tempDirectory, ByteOrder inputOrder) {
+        if (memoryBytes < MIN_MEMORY_BYTES) {
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BYTES + " bytes.");
+        }
+        if (tempDirectory == null || inputOrder == null) {
+            throw new IllegalArgumentException("Temporary directory and byte order must not be null.");
+        }
+        this.memoryBytes = memoryBytes;
+        this.tempDirectory = tempDirectory;
+        this.inputOrder = inputOrder;
+        int bufferBytes = (int) Math.max(MIN_IO_BUFFER, Math.min(MAX_IO_BUFFER, memoryBytes / IO_BUFFER_SHARE))
+                & ~(Integer.BYTES - 1);
+        this.pool = new BufferPool(bufferBytes, (int) Math.min(MAX_FAN_IN + 2, memoryBytes / bufferBytes));
+    }
+
+    // Ingest method for an in-memory result
+    // Sorts every int in input into a new OrderedArray of the given capacity
+    // Time complexity: O(n log n), with O(n) sequential I/O per merge pass
+    public OrderedArray toOrderedArray(Path input, int capacity) throws IOException {
+        int count = countInts(input, capacity);
+        ArraySink sink = new ArraySink(count);
+        sort(input, count, sink, 0);
+        OrderedArray array = new OrderedArray(capacity);
+        array.bulkLoad(sink.values, count);
+        return array;
+    }
+
+    // Ingest method for an on-disk result
+    // Sorts every int in input straight into output in ArrayCodec's OrderedArray format, so
+    // ArrayCodec.readOrdered() (or a DurableOrderedArray snapshot) can load it later.
+    // Returns the number of values written
+    // Time complexity: O(n log n), with O(n) sequential I/O per merge pass
+    public int toSnapshot(Path input, Path output, int capacity) throws IOException {
+        int count = countInts(input, capacity);
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ChannelSink sink = new ChannelSink(out, pool, ByteOrder.BIG_ENDIAN)) {
+            sink.put(ArrayCodec.ORDERED_MAGIC);
+            sink.put(capacity);
+            sink.put(count);
+            sort(input, count, sink, pool.bufferSize());
+        }
+        return count;
+    }
+
+    // Number of ints in input, checked against the result capacity
+    private static int countInts(Path input, int capacity) throws IOException {
+        long bytes = Files.size(input);
+        if (bytes % Integer.BYTES != 0) {
+            throw new IOException("Input length is not a multiple of " + Integer.BYTES + " bytes: " + input);
+        }
+        if (bytes / Integer.BYTES > MAX_ARRAY_LENGTH) {
+            throw new IOException("Input holds more ints than an array can: " + input);
+        }
+        int count = (int) (bytes / Integer.BYTES);
+        if (capacity < count) {
+            throw new IllegalArgumentException("Capacity " + capacity + " is smaller than the " + count + " input values.");
+        }
+        return count;
+    }
+
+    // Sorts the count ints of input into sink, whose own buffers take sinkBytes of the budget
+    private void sort(Path input, int count, IntSink sink, long sinkBytes) throws IOException {
+        long available = memoryBytes - sinkBytes;
+        List<Path> temporary = new ArrayList<>();
+        try {
+            List<Path> runs = writeRuns(input, count, sink, available, temporary);
+            if (runs.isEmpty()) return; // Fitted in one run, already emitted
+            // One buffer per input run plus one for a merge pass's output
+            int fanIn = (int) Math.min(MAX_FAN_IN, Math.max(2, available / pool.bufferSize() - 1));
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, fanIn, temporary);
+            }
+            merge(runs, sink);
+        } finally {
+            for (Path path : temporary) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // Phase 1: sorted runs spilled to temporary files, or nothing if the input fits in one run,
+    // which then goes straight to sink
+    private List<Path> writeRuns(Path input, int count, IntSink sink, long available, List<Path> temporary)
+            throws IOException {
+        // The input and spill buffers, then three run-sized arrays: the run being read and
+        // sorted, the run being spilled, and the scratch array of parallelSort
+        long runBytes = available - 2L * pool.bufferSize();
+        int runLength = (int) Math.min(count, Math.min(MAX_ARRAY_LENGTH, runBytes / (3L * Integer.BYTES)));
+        List<Path> runs = new ArrayList<>();
+        ExecutorService spiller = null;
+        ByteBuffer buffer = pool.acquire().order(inputOrder);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (runLength == count) {
+                int[] run = new int[count];
+                readInts(in, buffer, run, count);
+                Arrays.parallelSort(run);
+                sink.put(run, 0, count);
+                return runs;
+            }
+            spiller = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "ingest-spill");
+                thread.setDaemon(true);
+                return thread;
+            });
+            int[][] buffers = {new int[runLength], new int[runLength]};
+            Future<Path> spilling = null;
+            for (int remaining = count, next = 0; remaining > 0; next ^= 1) {
+                int[] run = buffers[next];
+                int length = Math.min(runLength, remaining);
+                readInts(in, buffer, run, length);
+                Arrays.parallelSort(run, 0, length);
+                // The other buffer is free once its spill is done
+                if (spilling != null) runs.add(await(spilling));
+                Path file = newRunFile(temporary);
+                spilling = spiller.submit(() -> {
+                    try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE);
+                         ChannelSink spill = new ChannelSink(out, pool, ByteOrder.nativeOrder())) {
+                        spill.put(run, 0, length);
+                    }
+                    return file;
+                });
+                remaining -= length;
+            }
+            runs.add(await(spilling));
+            return runs;
+        } finally {
+            if (spiller != null) {
+                spiller.shutdownNow();
+                awaitTermination(spiller);
+            }
+            pool.release(buffer);
+        }
+    }
+
+    // Merges groups of fanIn runs into longer runs, deleting the inputs as it goes
+    private List<Path> mergePass(List<Path> runs, int fanIn, List<Path> temporary) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += fanIn) {
+            List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+            if (group.size() == 1) {
+                merged.add(group.get(0));
+                continue;
+            }
+            Path file = newRunFile(temporary);
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE);
+                 ChannelSink sink = new ChannelSink(out, pool, ByteOrder.nativeOrder())) {
+                merge(group, sink);
+            }
+            for (Path run : group) {
+                Files.deleteIfExists(run);
+            }
+            merged.add(file);
+        }
+        return merged;
+    }
+
+    // Phase 2: k-way merge. heap holds run indices ordered by heads[run], the run's smallest
+    // unmerged value, so each output value costs O(log k) int comparisons and no boxing
+    private void merge(List<Path> runs, IntSink sink) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        try {
+            int[] heads = new int[k];
+            int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), pool);
+                if (readers[i].hasNext()) {
+                    heads[i] = readers[i].next();
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heads, size, i);
+            }
+            while (size > 0) {
+                int run = heap[0];
+                sink.put(heads[run]);
+                if (readers[run].hasNext()) {
+                    heads[run] = readers[run].next();
+                } else {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, heads, size, 0);
+            }
+        } finally {
+            IOException error = null;
+            for (RunReader reader : readers) {
+                if (reader == null) continue;
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (error != null) throw error;
+        }
+    }
+
+    private static void siftDown(int[] heap, int[] heads, int size, int i) {
+        int run = heap[i];
+        int value = heads[run];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) child++;
+            if (heads[heap[child]] >= value) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    // Reads exactly count ints from in, through buffer, into the front of values
+    private static void readInts(FileChannel in, ByteBuffer buffer, int[] values, int count) throws IOException {
+        int filled = 0;
+        while (filled < count) {
+            int batch = Math.min(count - filled, buffer.capacity() / Integer.BYTES);
+            buffer.clear().limit(batch * Integer.BYTES);
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer) < 0) {
+                    throw new IOException("Input ended early; was it modified during the sort?");
+                }
+            }
+            buffer.flip();
+            buffer.asIntBuffer().get(values, filled, batch);
+            filled += batch;
+        }
+    }
+
+    private Path newRunFile(List<Path> temporary) throws IOException {
+        Path file = Files.createTempFile(tempDirectory, "run-", ".bin");
+        temporary.add(file);
+        return file;
+    }
+
+    // Waits for a cancelled spill to stop, so its buffer is back in the pool and its file closed
+    private static void awaitTermination(ExecutorService spiller) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (spiller.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static Path await(Future<Path> spill) throws IOException {
+        try {
+            return spill.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Spilling a sorted run failed.", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while spilling a sorted run.", e);
+        }
+    }
+
+    // Destination of sorted values
+    private interface IntSink {
+        void put(int value) throws IOException;
+
+        void put(int[] values, int from, int to) throws IOException;
+    }
+
+    // Collects the values for an in-memory OrderedArray
+    private static final class ArraySink implements IntSink {
+        final int[] values;
+        int count;
+
+        ArraySink(int capacity) {
+            values = new int[capacity];
+        }
+
+        public void put(int value) {
+            values[count++] = value;
+        }
+
+        public void put(int[] source, int from, int to) {
+            System.arraycopy(source, from, values, count, to - from);
+            count += to - from;
+        }
+    }
+
+    // Buffers values on their way to a channel through a pooled buffer; close() writes what is
+    // left and returns the buffer
+    private static final class ChannelSink implements IntSink, Closeable {
+        private final WritableByteChannel channel;
+        private final BufferPool pool;
+        private final ByteBuffer buffer;
+
+        ChannelSink(WritableByteChannel channel, BufferPool pool, ByteOrder order) {
+            this.channel = channel;
+            this.pool = pool;
+            this.buffer = pool.acquire().order(order);
+        }
+
+        public void put(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) drain();
+            buffer.putInt(value);
+        }
+
+        public void put(int[] values, int from, int to) throws IOException {
+            while (from < to) {
+                if (buffer.remaining() < Integer.BYTES) drain();
+                int batch = Math.min(to - from, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, from, batch);
+                buffer.position(buffer.position() + batch * Integer.BYTES);
+                from += batch;
+            }
+        }
+
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                pool.release(buffer);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Streams the values of one run file through a pooled buffer
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final BufferPool pool;
+        private final ByteBuffer buffer;
+
+        RunReader(Path run, BufferPool pool) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.pool = pool;
+            buffer = pool.acquire().order(ByteOrder.nativeOrder());
+            buffer.flip(); // Starts empty
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= Integer.BYTES) return true;
+            buffer.compact();
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Fill the buffer unless the run ends first
+            }
+            buffer.flip();
+            return buffer.remaining() >= Integer.BYTES;
+        }
+
+        int next() {
+            return buffer.getInt();
+        }
+
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                pool.release(buffer);
+            }
+        }
+    }
+}
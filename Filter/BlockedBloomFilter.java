@@ -0,0 +1,181 @@
+package Filter;
+
+/**
+ * A blocked Bloom filter used to reject lookups for absent keys without scanning a structure.
+ * Each key maps to one 512-bit block (a single cache line) and sets k bits inside it, so a
+ * query touches one line of memory. A "no" answer is definite; a "yes" is wrong with roughly
+ * the configured false-positive rate while the filter holds no more than expectedInsertions keys.
+ * Bloom filters cannot forget keys, so the owning structure calls recordDelete() and rebuilds
+ * the filter from its contents once needsRebuild() reports that too many stale keys or too
+ * many insertions have accumulated.
+ */
+public class BlockedBloomFilter {
+    private static final int WORDS_PER_BLOCK = 8; // 512 bits
+    private static final int BLOCK_MASK = 511;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashes;             // Bits set per key
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final double rebuildThreshold;
+    private int insertions;               // Keys added since the filter was built
+    private int deletions;                // Keys removed from the owner since then
+
+    /**
+     * Constructs an empty filter.
+     *
+     * @param expectedInsertions the number of keys the filter is sized for
+     * @param falsePositiveRate  the target false-positive rate, in (0, 1)
+     * @param rebuildThreshold   the fraction of stale (deleted) keys that triggers a rebuild, in (0, 1]
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public BlockedBloomFilter(int expectedInsertions, double falsePositiveRate, double rebuildThreshold) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("Expected insertions must be non-negative");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        if (!(rebuildThreshold > 0 && rebuildThreshold <= 1)) {
+            throw new IllegalArgumentException("Rebuild threshold must be in (0, 1]");
+        }
+        // Standard sizing, plus ~15% because keys are not spread evenly across blocks
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) * 1.15;
+        long bits = (long) Math.ceil(Math.max(1, expectedInsertions) * bitsPerKey);
+        this.blocks = (int) Math.min(Integer.MAX_VALUE / WORDS_PER_BLOCK, Math.max(1, (bits + BLOCK_MASK) / (BLOCK_MASK + 1)));
+        this.words = new long[blocks * WORDS_PER_BLOCK];
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round(bitsPerKey / 1.15 * Math.log(2))));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildThreshold = rebuildThreshold;
+    }
+
+    /**
+     * Returns an empty filter with the same settings, sized for a new number of keys.
+     *
+     * @param expectedInsertions the number of keys the new filter is sized for
+     * @return the new filter
+     */
+    public BlockedBloomFilter emptyCopy(int expectedInsertions) {
+        return new BlockedBloomFilter(expectedInsertions, falsePositiveRate, rebuildThreshold);
+    }
+
+    /**
+     * Adds a key, given its hash().
+     * Time Complexity: O(k)
+     *
+     * @param hash the key's hash
+     */
+    public void put(long hash) {
+        int base = blockOf(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 29) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & BLOCK_MASK;
+            words[base + (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Checks whether a key may have been added.
+     * Time Complexity: O(k), one cache line
+     *
+     * @param hash the key's hash
+     * @return false if the key was definitely never added
+     */
+    public boolean mightContain(long hash) {
+        int base = blockOf(hash);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 29) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & BLOCK_MASK;
+            if ((words[base + (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Notes that the owner removed a key; its bits stay set until the next rebuild.
+     * Time Complexity: O(1)
+     */
+    public void recordDelete() {
+        deletions++;
+    }
+
+    /**
+     * Checks whether the owner should rebuild the filter from its contents, either because
+     * the stale fraction exceeds the rebuild threshold or because more keys were added than
+     * the filter was sized for.
+     * Time Complexity: O(1)
+     *
+     * @return true if a rebuild is due
+     */
+    public boolean needsRebuild() {
+        return insertions > expectedInsertions || deletions > rebuildThreshold * Math.max(1, insertions);
+    }
+
+    /** @return the number of keys the filter is sized for */
+    public int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /** @return the configured target false-positive rate */
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /** @return the configured stale fraction that triggers a rebuild */
+    public double rebuildThreshold() {
+        return rebuildThreshold;
+    }
+
+    /**
+     * Estimates the current false-positive rate from the fraction of bits set.
+     * Time Complexity: O(m) for m bits
+     *
+     * @return the estimated probability that an absent key passes mightContain()
+     */
+    public double estimatedFalsePositiveRate() {
+        long set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        return Math.pow((double) set / (64.0 * words.length), hashes);
+    }
+
+    /**
+     * Hashes an int key. Agrees with hash(Object) for a boxed Integer of the same value.
+     *
+     * @param key the key
+     * @return a well-mixed 64-bit hash
+     */
+    public static long hash(int key) {
+        return mix(key);
+    }
+
+    /**
+     * Hashes an object key through its hashCode(); null is allowed.
+     *
+     * @param key the key
+     * @return a well-mixed 64-bit hash
+     */
+    public static long hash(Object key) {
+        return mix(key == null ? 0x9E3779B9 : key.hashCode());
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB2F5A9D58E15L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private int blockOf(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * WORDS_PER_BLOCK;
+    }
+}
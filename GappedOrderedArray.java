@@ -0,0 +1,301 @@
+import java.util.Arrays;
+
+// Sorted array with gaps (a packed memory array) for sub-linear inserts and deletes.
+// Free slots are spread through the array, so an insert or delete only rewrites a small
+// window around the change. Windows are aligned power-of-two ranges: a leaf segment of about
+// log2(capacity) slots, its parent covering twice as many slots, and so on up to the whole array.
+// Each level has a density range; when a window leaves its range the smallest enclosing window
+// that is back in range is spread out evenly, which costs amortized O(log^2 n) per update.
+// Every gap holds a copy of the next element to its right (Integer.MAX_VALUE after the last one),
+// so the key array stays non-decreasing and find() remains a plain binary search.
+// Unlike OrderedArray this never reports "full": the array doubles when it gets too dense
+// and halves when it gets too sparse.
+public class GappedOrderedArray {
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final double LEAF_UPPER = 1.0;  // Leaves may fill up completely
+    private static final double ROOT_UPPER = 0.75; // Whole array grows beyond this
+    private static final double LEAF_LOWER = 0.125;
+    private static final double ROOT_LOWER = 0.25; // Whole array shrinks below this
+
+    private int[] keys;        // Keys, with gaps holding the next key to their right
+    private long[] used;       // Bitmap of occupied slots
+    private int count;         // Number of elements
+    private int segmentSize;   // Slots per leaf window, a power of two
+    private int height;        // Number of levels above the leaves
+    private int[] scratch = new int[MIN_CAPACITY];
+
+    // Constructor
+    // size is a capacity hint; the array grows on demand
+    public GappedOrderedArray(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be non-negative.");
+        }
+        allocate(capacityFor(size));
+    }
+
+    // Insertion method
+    // Equal keys are placed after the existing ones, as in OrderedArray
+    // Time complexity: O(log^2 n) amortized
+    public void insert(int x) {
+        int capacity = keys.length;
+        int p = upperBound(x);
+        int anchor = p == capacity ? capacity - 1 : p;
+        for (int level = 0, window = segmentSize; level <= height; level++, window <<= 1) {
+            int lo = anchor & -window;
+            if (countUsed(lo, lo + window) + 1 <= upperDensity(level) * window) {
+                rebalance(lo, window, x, true);
+                count++;
+                return;
+            }
+        }
+        if (capacity == MAX_CAPACITY) {
+            throw new ArrayIndexOutOfBoundsException("Array is full. Cannot insert new element.");
+        }
+        redistribute(capacity << 1, x, true);
+        count++;
+    }
+
+    // Deletion method
+    // Time complexity: O(log^2 n) amortized
+    public boolean delete(int x) {
+        int slot = find(x);
+        if (slot == -1) {
+            return false;
+        }
+        clearUsed(slot);
+        keys[slot] = slot + 1 < keys.length ? keys[slot + 1] : Integer.MAX_VALUE;
+        fillGapsBefore(slot, keys[slot]);
+        count--;
+
+        for (int level = 0, window = segmentSize; level <= height; level++, window <<= 1) {
+            int lo = slot & -window;
+            if (countUsed(lo, lo + window) >= lowerDensity(level) * window) {
+                if (level > 0) rebalance(lo, window, 0, false);
+                return true;
+            }
+        }
+        if (keys.length > MIN_CAPACITY) {
+            redistribute(keys.length >>> 1, 0, false);
+        }
+        return true;
+    }
+
+    // Find method
+    // Returns the slot of an element equal to x, usable with get()
+    // Time complexity: O(log n)
+    public int find(int x) {
+        int p = lowerBound(x);
+        if (p == keys.length || keys[p] != x) {
+            return -1;
+        }
+        return nextUsed(p); // A gap at p holds the value of the element that follows it
+    }
+
+    // Get method
+    // Time complexity: O(1)
+    public int get(int index) {
+        if (index < 0 || index >= keys.length) {
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds.");
+        }
+        if (!isUsed(index)) {
+            throw new NullPointerException("No element at the specified index.");
+        }
+        return keys[index];
+    }
+
+    // Size method
+    // Number of slots, including gaps, matching OrderedArray.size()
+    // Time complexity: O(1)
+    public int size() {
+        return keys.length;
+    }
+
+    // Count method
+    // Number of elements stored
+    // Time complexity: O(1)
+    public int count() {
+        return count;
+    }
+
+    // Range method
+    // Copies elements in [from, to] into out, in order, up to out.length of them
+    // Returns the number copied; the scan is sequential apart from skipping gaps
+    // Time complexity: O(log n + k) for k slots scanned
+    public int range(int from, int to, int[] out) {
+        int copied = 0;
+        for (int s = nextUsed(lowerBound(from)); s != -1 && copied < out.length; s = nextUsed(s + 1)) {
+            if (keys[s] > to) break;
+            out[copied++] = keys[s];
+        }
+        return copied;
+    }
+
+    // Resize method
+    // Keeps the smallest min(count, newSize) elements, as OrderedArray.resize() does, so
+    // resize(0) empties the array. size() becomes newSize rounded up to a power of two (at
+    // least 16), doubled further if needed to hold the kept elements below the maximum density
+    // Time complexity: O(n)
+    public void resize(int newSize) {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Size must be non-negative.");
+        }
+        int keep = Math.min(count, newSize);
+        int capacity = Math.max(MIN_CAPACITY, roundUpToPowerOfTwo(Math.min(newSize, MAX_CAPACITY)));
+        while (keep > capacity * ROOT_UPPER && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        int[] values = collect(0, keys.length, 0, false);
+        allocate(capacity);
+        count = keep;
+        spread(values, keep, 0, capacity);
+    }
+
+    // Rewrites the window [lo, lo + window) with its elements (plus x, if requested) evenly spaced
+    private void rebalance(int lo, int window, int x, boolean withX) {
+        int n = countUsed(lo, lo + window) + (withX ? 1 : 0);
+        int[] values = collect(lo, lo + window, x, withX);
+        spread(values, n, lo, window);
+    }
+
+    // Moves every element (plus x, if requested) into a fresh array of the given capacity
+    private void redistribute(int capacity, int x, boolean withX) {
+        int n = count + (withX ? 1 : 0);
+        int[] values = collect(0, keys.length, x, withX);
+        allocate(capacity);
+        spread(values, n, 0, capacity);
+    }
+
+    // Gathers the elements of [from, to) in order into the scratch buffer, merging x in
+    // after any equal keys
+    private int[] collect(int from, int to, int x, boolean withX) {
+        int needed = countUsed(from, to) + (withX ? 1 : 0);
+        if (scratch.length < needed) {
+            scratch = new int[Math.max(needed, scratch.length << 1)];
+        }
+        int[] values = scratch;
+        int n = 0;
+        boolean pending = withX;
+        for (int s = nextUsed(from); s != -1 && s < to; s = nextUsed(s + 1)) {
+            if (pending && keys[s] > x) {
+                values[n++] = x;
+                pending = false;
+            }
+            values[n++] = keys[s];
+        }
+        if (pending) values[n] = x;
+        return values;
+    }
+
+    // Places n sorted values evenly across [lo, lo + window) and restores the gap invariant
+    private void spread(int[] values, int n, int lo, int window) {
+        int hi = lo + window;
+        for (int s = lo; s < hi; s++) {
+            clearUsed(s);
+        }
+        for (int i = 0; i < n; i++) {
+            int s = lo + (int) ((long) i * window / n);
+            keys[s] = values[i];
+            setUsed(s);
+        }
+        int next = hi < keys.length ? keys[hi] : Integer.MAX_VALUE;
+        for (int s = hi - 1; s >= lo; s--) {
+            if (isUsed(s)) next = keys[s]; else keys[s] = next;
+        }
+        fillGapsBefore(lo, next);
+    }
+
+    // Gaps immediately left of slot must carry the value now found at slot
+    private void fillGapsBefore(int slot, int value) {
+        for (int s = slot - 1; s >= 0 && !isUsed(s); s--) {
+            keys[s] = value;
+        }
+    }
+
+    // First slot whose key is >= x, or capacity
+    private int lowerBound(int x) {
+        int left = 0;
+        int right = keys.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (keys[mid] < x) left = mid + 1; else right = mid;
+        }
+        return left;
+    }
+
+    // First slot whose key is > x, or capacity
+    private int upperBound(int x) {
+        int left = 0;
+        int right = keys.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (keys[mid] <= x) left = mid + 1; else right = mid;
+        }
+        return left;
+    }
+
+    // First occupied slot at or after from, or -1
+    private int nextUsed(int from) {
+        if (from >= keys.length) return -1;
+        int word = from >>> 6;
+        long bits = used[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == used.length) return -1;
+            bits = used[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    // Occupied slots in [from, to); windows are aligned so whole words are counted where possible
+    private int countUsed(int from, int to) {
+        if (to - from < 64) {
+            long mask = ((1L << (to - from)) - 1) << from;
+            return Long.bitCount(used[from >>> 6] & mask);
+        }
+        int total = 0;
+        for (int w = from >>> 6; w < to >>> 6; w++) {
+            total += Long.bitCount(used[w]);
+        }
+        return total;
+    }
+
+    private boolean isUsed(int slot) {
+        return (used[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void setUsed(int slot) {
+        used[slot >>> 6] |= 1L << slot;
+    }
+
+    private void clearUsed(int slot) {
+        used[slot >>> 6] &= ~(1L << slot);
+    }
+
+    // Density bounds interpolate linearly from the leaves (level 0) to the root (level height)
+    private double upperDensity(int level) {
+        return height == 0 ? ROOT_UPPER : LEAF_UPPER - (LEAF_UPPER - ROOT_UPPER) * level / height;
+    }
+
+    private double lowerDensity(int level) {
+        return height == 0 ? ROOT_LOWER : LEAF_LOWER + (ROOT_LOWER - LEAF_LOWER) * level / height;
+    }
+
+    // Allocates empty storage; the caller sets count and places elements
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, Integer.MAX_VALUE);
+        used = new long[(capacity + 63) >>> 6];
+        segmentSize = Math.max(8, roundUpToPowerOfTwo(31 - Integer.numberOfLeadingZeros(capacity)));
+        height = 31 - Integer.numberOfLeadingZeros(capacity / segmentSize);
+    }
+
+    // Smallest power-of-two capacity holding n elements at half the maximum root density
+    private static int capacityFor(int n) {
+        long wanted = Math.max(MIN_CAPACITY, (long) Math.ceil(n / (ROOT_UPPER / 2)));
+        return wanted >= MAX_CAPACITY ? MAX_CAPACITY : roundUpToPowerOfTwo((int) wanted);
+    }
+
+    private static int roundUpToPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
@@ -0,0 +1,80 @@
+package IO;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * A small thread-safe pool of equally sized direct ByteBuffers.
+ * Direct buffers are expensive to allocate and are only reclaimed by the garbage collector,
+ * so channel I/O borrows them from here instead of allocating one per call.
+ */
+public class BufferPool {
+    /** Pool shared by the binary codecs: 256 KiB buffers, at most 16 kept idle. */
+    public static final BufferPool DEFAULT = new BufferPool(256 * 1024, 16);
+
+    private final int bufferSize;
+    private final int maxIdle;
+    private final ArrayDeque<ByteBuffer> idle = new ArrayDeque<>();
+
+    /**
+     * Constructs a pool of direct buffers.
+     *
+     * @param bufferSize the capacity of each buffer in bytes
+     * @param maxIdle    the maximum number of released buffers kept for reuse
+     * @throws IllegalArgumentException if bufferSize is not positive or maxIdle is negative
+     */
+    public BufferPool(int bufferSize, int maxIdle) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Idle limit must be non-negative");
+        }
+        this.bufferSize = bufferSize;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns the capacity of the buffers handed out by this pool.
+     *
+     * @return the buffer size in bytes
+     */
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Borrows a cleared buffer, allocating a new one if none is idle.
+     * Time Complexity: O(1)
+     *
+     * @return a cleared, big-endian direct buffer of bufferSize() bytes
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer;
+        synchronized (idle) {
+            buffer = idle.pollFirst();
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        buffer.clear();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers of the wrong size or beyond the idle limit are dropped.
+     * Time Complexity: O(1)
+     *
+     * @param buffer a buffer obtained from acquire(); must not be used afterwards
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) return;
+        synchronized (idle) {
+            if (idle.size() < maxIdle) {
+                idle.addFirst(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,546 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Compressed bitmap set of ints (roaring-style), for dense integer sets.
+// Values are grouped into chunks of 65536 by their high 16 bits. A chunk holding at most
+// 4096 values keeps them as a sorted char[] (2 bytes each); a fuller chunk switches to a
+// 65536-bit bitmap (8 KiB), which is smaller from that point on. The switch happens
+// automatically as values are inserted, and back (at 2048) as they are deleted.
+// Membership is a binary search over the chunk keys plus a bit test or a search in at most
+// 4096 chars. and/or/andNot combine two sets chunk by chunk, word by word for bitmaps,
+// instead of comparing every pair of elements.
+// This is a set: inserting a value that is already present has no effect.
+// OrderedArray and UnorderedArray can also switch to this as their storage with
+// enableBitmapMode(), which brings the same operations to existing callers. That switch is
+// opt-in, since it merges duplicates; the container forms inside a set switch on their own.
+public class IntBitmapSet {
+    private static final int ARRAY_MAX = 4096;   // Largest chunk kept as a sorted array
+    private static final int BITMAP_WORDS = 1024; // 65536 bits
+
+    private char[] keys = new char[4];                  // Chunk keys, ascending
+    private Container[] containers = new Container[4];  // Chunk contents, parallel to keys
+    private int chunks;                                 // Number of chunks in use
+    private int count;                                  // Number of values
+
+    // Constructor for an empty set
+    public IntBitmapSet() {
+    }
+
+    // Factory method
+    // Collects the values of an UnorderedArray
+    // Time complexity: O(n log n); O(n) for an array in bitmap mode
+    public static IntBitmapSet from(UnorderedArray array) {
+        if (array.bitmap() != null) return new IntBitmapSet().or(array.bitmap());
+        IntBitmapSet set = new IntBitmapSet();
+        for (int i = 0; i < array.size(); i++) {
+            Integer value = array.slot(i);
+            if (value != null) set.insert(value);
+        }
+        return set;
+    }
+
+    // Factory method
+    // Collects the values of an OrderedArray; ascending input appends to the end of each chunk
+    // Time complexity: O(n log n); O(n) for an array in bitmap mode
+    public static IntBitmapSet from(OrderedArray array) {
+        if (array.bitmap() != null) return new IntBitmapSet().or(array.bitmap());
+        IntBitmapSet set = new IntBitmapSet();
+        for (int i = 0; i < array.size(); i++) {
+            Integer value = array.slot(i);
+            if (value != null) set.insert(value);
+        }
+        return set;
+    }
+
+    // Factory method for the arrays' bitmap mode
+    // Collects the first count values, which must be distinct
+    // Time complexity: O(n log n)
+    static IntBitmapSet ofDistinct(int[] values, int count) {
+        IntBitmapSet set = new IntBitmapSet();
+        for (int i = 0; i < count; i++) {
+            set.insert(values[i]);
+            if (set.count() != i + 1) {
+                throw new IllegalArgumentException("Bitmap mode holds each value once; " + values[i] + " is repeated.");
+            }
+        }
+        return set;
+    }
+
+    // Insertion method
+    // Time complexity: O(log c + 4096) worst case for c chunks; O(log c) for bitmap chunks
+    public void insert(int x) {
+        char key = highBits(x);
+        int i = chunkIndex(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, key, new Container());
+        }
+        if (containers[i].add((char) x)) {
+            count++;
+        }
+    }
+
+    // Deletion method
+    // Time complexity: O(log c + 4096) worst case; O(log c) for bitmap chunks
+    public boolean delete(int x) {
+        int i = chunkIndex(highBits(x));
+        if (i < 0 || !containers[i].remove((char) x)) {
+            return false;
+        }
+        count--;
+        if (containers[i].cardinality == 0) {
+            removeChunk(i);
+        }
+        return true;
+    }
+
+    // Contains method
+    // Time complexity: O(log c + log 4096)
+    public boolean contains(int x) {
+        int i = chunkIndex(highBits(x));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    // Find method
+    // Returns the rank of x (its index in ascending order), or -1 if absent
+    // Time complexity: O(c + 1024)
+    public int find(int x) {
+        int i = chunkIndex(highBits(x));
+        if (i < 0 || !containers[i].contains((char) x)) {
+            return -1;
+        }
+        int rank = 0;
+        for (int j = 0; j < i; j++) {
+            rank += containers[j].cardinality;
+        }
+        return rank + containers[i].rank((char) x);
+    }
+
+    // Get method
+    // Returns the value of the given rank
+    // Time complexity: O(c + 1024)
+    public int get(int index) {
+        if (index < 0 || index >= count) {
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds.");
+        }
+        int i = 0;
+        while (index >= containers[i].cardinality) {
+            index -= containers[i].cardinality;
+            i++;
+        }
+        return fromParts(keys[i], containers[i].select(index));
+    }
+
+    // Count method
+    // Time complexity: O(1)
+    public int count() {
+        return count;
+    }
+
+    // Array method
+    // Returns the values in ascending order
+    // Time complexity: O(n + 1024c)
+    public int[] toArray() {
+        int[] values = new int[count];
+        int n = 0;
+        for (int i = 0; i < chunks; i++) {
+            n = containers[i].copyTo(keys[i], values, n);
+        }
+        return values;
+    }
+
+    // Cursor method
+    // Walks the values in ascending order container by container, so callers can stream them
+    // without the full copy toArray() makes. The set must not change while the cursor is used
+    // Time complexity: O(1); O(n + 1024c) to walk every value
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Ascending walk over the values; see cursor()
+    final class Cursor {
+        private int chunk; // Current chunk
+        private int low;   // Next array index, or next bit to test, in the current chunk
+
+        boolean hasNext() {
+            while (chunk < chunks) {
+                Container c = containers[chunk];
+                if (c.bits == null) {
+                    if (low < c.cardinality) return true;
+                } else {
+                    low = c.nextSetBit(low);
+                    if (low >= 0) return true;
+                }
+                chunk++;
+                low = 0;
+            }
+            return false;
+        }
+
+        int next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Container c = containers[chunk];
+            char value = c.bits == null ? c.array[low] : (char) low;
+            low++;
+            return fromParts(keys[chunk], value);
+        }
+    }
+
+    // Truncation method
+    // Drops the largest values until at most maxCount remain, whole chunks first
+    // Time complexity: O(c + k(c + 1024)) for k values dropped from a partly kept chunk
+    void truncate(int maxCount) {
+        while (chunks > 0 && count - containers[chunks - 1].cardinality >= maxCount) {
+            count -= containers[chunks - 1].cardinality;
+            removeChunk(chunks - 1);
+        }
+        while (count > maxCount) {
+            delete(get(count - 1));
+        }
+    }
+
+    // Intersection method
+    // Time complexity: O(c1 + c2 + matched chunk sizes)
+    public IntBitmapSet and(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet();
+        int i = 0, j = 0;
+        while (i < chunks && j < other.chunks) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // Union method
+    // Time complexity: O(c1 + c2 + chunk sizes)
+    public IntBitmapSet or(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet();
+        int i = 0, j = 0;
+        while (i < chunks || j < other.chunks) {
+            if (j == other.chunks || (i < chunks && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], containers[i].copy());
+                i++;
+            } else if (i == chunks || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // Difference method
+    // Values of this set that are not in other
+    // Time complexity: O(c1 + c2 + chunk sizes)
+    public IntBitmapSet andNot(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet();
+        int j = 0;
+        for (int i = 0; i < chunks; i++) {
+            while (j < other.chunks && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.chunks && other.keys[j] == keys[i]) {
+                result.appendChunk(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.appendChunk(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    // Memory method
+    // Approximate bytes held by chunk contents (excluding object headers)
+    // Time complexity: O(c)
+    public long memoryBytes() {
+        long bytes = 2L * keys.length + 8L * containers.length;
+        for (int i = 0; i < chunks; i++) {
+            Container c = containers[i];
+            bytes += c.bits != null ? 8L * c.bits.length : 2L * c.array.length;
+        }
+        return bytes;
+    }
+
+    // Chunk key: high 16 bits with the sign flipped, so chunks sort in signed order
+    private static char highBits(int x) {
+        return (char) ((x ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static int fromParts(char key, char low) {
+        return ((key << 16) | low) ^ Integer.MIN_VALUE;
+    }
+
+    private int chunkIndex(char key) {
+        return Arrays.binarySearch(keys, 0, chunks, key);
+    }
+
+    private void insertChunk(int i, char key, Container container) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, chunks - i);
+        System.arraycopy(containers, i, containers, i + 1, chunks - i);
+        keys[i] = key;
+        containers[i] = container;
+        chunks++;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, chunks - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, chunks - i - 1);
+        containers[--chunks] = null;
+    }
+
+    // Adds a chunk with a key above every existing one; empty results are dropped
+    private void appendChunk(char key, Container container) {
+        if (container.cardinality == 0) return;
+        insertChunk(chunks, key, container);
+        count += container.cardinality;
+    }
+
+    // Values of one chunk: a sorted char[] while sparse, a bitmap once dense
+    private static final class Container {
+        char[] array = new char[4]; // Sorted low bits; null in bitmap form
+        long[] bits;                // BITMAP_WORDS words; null in array form
+        int cardinality;
+
+        boolean contains(char low) {
+            if (bits != null) return (bits[low >>> 6] & (1L << low)) != 0;
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (before == bits[low >>> 6]) return false;
+                cardinality++;
+                return true;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i >= 0) return false;
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+            i = -i - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(array, i, array, i + 1, cardinality - i);
+            array[i] = low;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before & ~(1L << low);
+                if (before == bits[low >>> 6]) return false;
+                cardinality--;
+                // Convert back well below the threshold so churn around it does not flip forms
+                if (cardinality <= ARRAY_MAX / 2) toArray();
+                return true;
+            }
+            int i = Arrays.binarySearch(array, 0, cardinality, low);
+            if (i < 0) return false;
+            System.arraycopy(array, i + 1, array, i, cardinality - i - 1);
+            cardinality--;
+            return true;
+        }
+
+        // Number of values below low
+        int rank(char low) {
+            if (bits == null) {
+                int i = Arrays.binarySearch(array, 0, cardinality, low);
+                return i >= 0 ? i : -i - 1;
+            }
+            int word = low >>> 6;
+            int rank = 0;
+            for (int w = 0; w < word; w++) {
+                rank += Long.bitCount(bits[w]);
+            }
+            return rank + Long.bitCount(bits[word] & ((1L << low) - 1));
+        }
+
+        // Value of the given rank
+        char select(int rank) {
+            if (bits == null) return array[rank];
+            for (int w = 0; ; w++) {
+                int n = Long.bitCount(bits[w]);
+                if (rank < n) {
+                    long word = bits[w];
+                    for (int k = 0; k < rank; k++) {
+                        word &= word - 1; // Drop the lowest set bit
+                    }
+                    return (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                }
+                rank -= n;
+            }
+        }
+
+        Container copy() {
+            Container c = new Container();
+            c.cardinality = cardinality;
+            if (bits != null) {
+                c.array = null;
+                c.bits = bits.clone();
+            } else {
+                c.array = Arrays.copyOf(array, Math.max(4, cardinality));
+            }
+            return c;
+        }
+
+        Container and(Container other) {
+            if (bits != null && other.bits != null) {
+                long[] words = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] = bits[w] & other.bits[w];
+                }
+                return fromBits(words);
+            }
+            // At least one side is an array: keep its values that the other side contains
+            Container small = bits == null ? this : other;
+            Container large = small == this ? other : this;
+            Container c = new Container();
+            c.array = new char[Math.max(4, small.cardinality)];
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.array[i])) c.array[c.cardinality++] = small.array[i];
+            }
+            return c;
+        }
+
+        Container or(Container other) {
+            if (bits == null && other.bits == null && cardinality + other.cardinality <= ARRAY_MAX) {
+                Container c = new Container();
+                c.array = new char[Math.max(4, cardinality + other.cardinality)];
+                int i = 0, j = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    char next;
+                    if (j == other.cardinality || (i < cardinality && array[i] < other.array[j])) {
+                        next = array[i++];
+                    } else if (i == cardinality || array[i] > other.array[j]) {
+                        next = other.array[j++];
+                    } else {
+                        next = array[i++];
+                        j++;
+                    }
+                    c.array[c.cardinality++] = next;
+                }
+                return c;
+            }
+            long[] words = toWords();
+            if (other.bits != null) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] |= other.bits[w];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    words[other.array[i] >>> 6] |= 1L << other.array[i];
+                }
+            }
+            return fromBits(words);
+        }
+
+        Container andNot(Container other) {
+            if (bits == null) {
+                Container c = new Container();
+                c.array = new char[Math.max(4, cardinality)];
+                for (int i = 0; i < cardinality; i++) {
+                    if (!other.contains(array[i])) c.array[c.cardinality++] = array[i];
+                }
+                return c;
+            }
+            long[] words = bits.clone();
+            if (other.bits != null) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] &= ~other.bits[w];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    words[other.array[i] >>> 6] &= ~(1L << other.array[i]);
+                }
+            }
+            return fromBits(words);
+        }
+
+        // Writes the values, as full ints under the chunk key, to out from position n on;
+        // returns the position after the last one
+        int copyTo(char key, int[] out, int n) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    out[n++] = fromParts(key, array[i]);
+                }
+                return n;
+            }
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    out[n++] = fromParts(key, (char) ((w << 6) + Long.numberOfTrailingZeros(word)));
+                }
+            }
+            return n;
+        }
+
+        // Lowest set bit at or above from in bitmap form, or -1 if there is none
+        int nextSetBit(int from) {
+            int w = from >>> 6;
+            if (w >= BITMAP_WORDS) return -1;
+            long word = bits[w] & (-1L << from);
+            while (word == 0) {
+                if (++w == BITMAP_WORDS) return -1;
+                word = bits[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        // A fresh bitmap holding this container's values
+        private long[] toWords() {
+            if (bits != null) return bits.clone();
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return words;
+        }
+
+        private void toBitmap() {
+            bits = toWords();
+            array = null;
+        }
+
+        private void toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                }
+            }
+            array = values;
+            bits = null;
+        }
+
+        // Wraps a result bitmap, switching to array form if it is sparse
+        private static Container fromBits(long[] words) {
+            Container c = new Container();
+            c.array = null;
+            c.bits = words;
+            for (long word : words) {
+                c.cardinality += Long.bitCount(word);
+            }
+            if (c.cardinality <= ARRAY_MAX) c.toArray();
+            return c;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package LinkedList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A generic, growable double-ended queue backed by a circular array.
+ * Offers the same end operations as DoublyLinkedList without allocating a node per element,
+ * so elements sit contiguously in memory and each one costs a single array slot.
+ * The capacity is always a power of two, which lets indices wrap with a bit mask instead of a modulo.
+ * The array doubles when full and halves once it drops to a quarter full, but never below the
+ * capacity requested at construction, so alternating inserts and deletes around a boundary
+ * never resize back and forth and a pre-sized deque keeps its reservation.
+ *
+ * @param <T> the type of elements stored in the deque
+ */
+public class CircularArrayDeque<T> {
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] elements; // Circular buffer, length is a power of two
+    private int head;          // Physical index of the first element
+    private int size;          // Number of elements
+    private final int minCapacity; // Shrinking stops here: the capacity reserved at construction
+
+    /**
+     * Constructs an empty deque with the minimum capacity.
+     * Time Complexity: O(1)
+     */
+    public CircularArrayDeque() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty deque able to hold at least the given number of elements before growing.
+     * Time Complexity: O(capacity)
+     *
+     * @param initialCapacity the number of elements to reserve room for
+     * @throws IllegalArgumentException if initialCapacity is negative or too large
+     */
+    public CircularArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        if (initialCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity too large: " + initialCapacity);
+        }
+        this.minCapacity = roundUpToPowerOfTwo(Math.max(initialCapacity, MIN_CAPACITY));
+        this.elements = new Object[minCapacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Inserts a new item at the beginning of the deque.
+     * Time Complexity: O(1) amortized
+     *
+     * @param newItem the item to insert
+     */
+    public void insertFirst(T newItem) {
+        growIfFull();
+        head = (head - 1) & mask();
+        elements[head] = newItem;
+        size++;
+    }
+
+    /**
+     * Inserts a new item at the end of the deque.
+     * Time Complexity: O(1) amortized
+     *
+     * @param newItem the item to insert
+     */
+    public void insertLast(T newItem) {
+        growIfFull();
+        elements[(head + size) & mask()] = newItem;
+        size++;
+    }
+
+    /**
+     * Inserts a new item at the specified index (0-based).
+     * Shifts whichever side of the index holds fewer elements.
+     * Time Complexity: O(min(index, size - index))
+     *
+     * @param newItem the item to insert
+     * @param index   the position to insert at (0 ≤ index ≤ size)
+     */
+    public void insertAt(T newItem, int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+        growIfFull();
+        int mask = mask();
+        if (index < size - index) {
+            // Shift the front part one slot to the left
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            // Shift the back part one slot to the right
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = newItem;
+        size++;
+    }
+
+    /**
+     * Removes the first item from the deque.
+     * Time Complexity: O(1) amortized
+     *
+     * @return true if an item was deleted, false if the deque was empty
+     */
+    public boolean deleteFirst() {
+        if (isEmpty()) return false;
+        elements[head] = null;
+        head = (head + 1) & mask();
+        size--;
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Removes the last item from the deque.
+     * Time Complexity: O(1) amortized
+     *
+     * @return true if an item was deleted, false if the deque was empty
+     */
+    public boolean deleteLast() {
+        if (isEmpty()) return false;
+        elements[(head + size - 1) & mask()] = null;
+        size--;
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Deletes the item at the specified index.
+     * Closes the gap by shifting whichever side of the index holds fewer elements.
+     * Time Complexity: O(min(index, size - index))
+     *
+     * @param index the position to delete (0 ≤ index < size)
+     * @return true if deletion succeeded, false otherwise
+     */
+    public boolean deleteAt(int index) {
+        if (index < 0 || index >= size) return false;
+        int mask = mask();
+        if (index < size - 1 - index) {
+            // Shift the front part one slot to the right
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            // Shift the back part one slot to the left
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * Deletes the first occurrence of the specified key.
+     * Time Complexity: O(n)
+     *
+     * @param key the value to remove
+     * @return true if the key was found and deleted, false otherwise
+     */
+    public boolean deleteKey(T key) {
+        int index = find(key);
+        return index != -1 && deleteAt(index);
+    }
+
+    /**
+     * Finds the index of the first occurrence of the specified key.
+     * Time Complexity: O(n)
+     *
+     * @param key the value to search for
+     * @return the index of the key, or -1 if not found
+     */
+    public int find(T key) {
+        int mask = mask();
+        for (int i = 0; i < size; i++) {
+            Object item = elements[(head + i) & mask];
+            if (key == null ? item == null : key.equals(item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the item at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @param index the position to read (0 ≤ index < size)
+     * @return the item at that position
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+        return (T) elements[(head + index) & mask()];
+    }
+
+    /**
+     * Returns the number of items in the deque.
+     * Time Complexity: O(1)
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots currently allocated.
+     * Time Complexity: O(1)
+     *
+     * @return the length of the backing array
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Checks if the deque is empty.
+     * Time Complexity: O(1)
+     *
+     * @return true if the deque has no elements, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a string representation of the deque in forward order.
+     * Time Complexity: O(n)
+     *
+     * @return a string like "[item1, item2, ...]"
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Streams the deque from first to last to the given destination in bounded chunks.
+     * Time Complexity: O(n)
+     *
+     * @param out the destination, e.g. a Writer or System.out
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams at most limit items to the given destination.
+     * A truncated deque ends with "... and N more]".
+     * Time Complexity: O(min(n, limit))
+     *
+     * @param out   the destination, e.g. a Writer or System.out
+     * @param limit the maximum number of items to write (≥ 0)
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out, int limit) throws IOException {
+        ListWriter writer = new ListWriter(out, limit, size);
+        int mask = mask();
+        for (int i = 0; i < size && writer.wantsMore(); i++) {
+            writer.element(elements[(head + i) & mask]);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Displays the deque from first to last, streaming it to the console.
+     * Time Complexity: O(n)
+     */
+    public void displayForward() {
+        try {
+            writeTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream never throws
+        }
+        System.out.println();
+    }
+
+    private int mask() {
+        return elements.length - 1;
+    }
+
+    private void growIfFull() {
+        if (size == elements.length) {
+            if (elements.length == (1 << 30)) {
+                throw new IllegalStateException("Deque is at maximum capacity");
+            }
+            reallocate(elements.length << 1);
+        }
+    }
+
+    private void shrinkIfSparse() {
+        // Halve only at a quarter full so the next growth is at least size elements away,
+        // and never below the capacity the caller reserved
+        if (elements.length > minCapacity && size <= (elements.length >>> 2)) {
+            reallocate(elements.length >>> 1);
+        }
+    }
+
+    private void reallocate(int newCapacity) {
+        Object[] newElements = new Object[newCapacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        elements = newElements;
+        head = 0;
+    }
+
+    private static int roundUpToPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
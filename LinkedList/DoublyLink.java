@@ -7,8 +7,12 @@ package LinkedList;
  * @param <T> the type of data stored in the link
  */
 public class DoublyLink<T> {
-    /** The actual data stored in this link. */
-    public T data;
+    /**
+     * The actual data stored in this link.
+     * Package-private so only the owning list can change it; an indexed list files each link
+     * under its data, so an outside write would leave the index pointing at the wrong key.
+     */
+    T data;
 
     /** Reference to the next link; null if this is the last link. */
     public DoublyLink<T> next;
@@ -27,4 +31,14 @@ public class DoublyLink<T> {
         this.next = null;
         this.previous = null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the data stored in this link.
+     * Time Complexity: O(1)
+     *
+     * @return the data
+     */
+    public T getData() {
+        return data;
+    }
+}
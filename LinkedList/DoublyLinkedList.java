@@ -1,4 +1,11 @@
 package LinkedList;
+
+import Filter.BlockedBloomFilter;
+import Metrics.Metrics;
+import Metrics.OperationStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * A generic, double-ended doubly linked list implementation.
  * Supports efficient insertion and deletion at both ends in O(1) time.
@@ -8,18 +15,54 @@ package LinkedList;
  * @param <T> the type of elements stored in the list
  */
 public class DoublyLinkedList<T> {
+    // Operation metrics, shared by all lists; only recorded when Metrics.ENABLED, otherwise
+    // compiled away. Work is nodes traversed
+    private static final OperationStats INSERT_FIRST_STATS = Metrics.operation("DoublyLinkedList", "insertFirst");
+    private static final OperationStats INSERT_LAST_STATS = Metrics.operation("DoublyLinkedList", "insertLast");
+    private static final OperationStats INSERT_AT_STATS = Metrics.operation("DoublyLinkedList", "insertAt");
+    private static final OperationStats DELETE_FIRST_STATS = Metrics.operation("DoublyLinkedList", "deleteFirst");
+    private static final OperationStats DELETE_LAST_STATS = Metrics.operation("DoublyLinkedList", "deleteLast");
+    private static final OperationStats DELETE_AT_STATS = Metrics.operation("DoublyLinkedList", "deleteAt");
+    private static final OperationStats DELETE_KEY_STATS = Metrics.operation("DoublyLinkedList", "deleteKey");
+    private static final OperationStats FIND_STATS = Metrics.operation("DoublyLinkedList", "find");
+
     private DoublyLink<T> head; // First element
     private DoublyLink<T> tail; // Last element
     private int size;           // Number of elements
+    private final NodeIndex<T, DoublyLink<T>> index; // Key -> node(s) index; null unless indexed
+    private BlockedBloomFilter bloom; // Optional fast-reject filter for lookups; null when disabled
 
     /**
      * Constructs an empty doubly linked list.
      * Time Complexity: O(1)
      */
     public DoublyLinkedList() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty doubly linked list, optionally maintaining a hash index of its keys.
+     * In indexed mode every insert and delete also updates the index, so contains(),
+     * deleteKey() and findNode() run in expected O(1) and find() rejects absent keys in O(1).
+     * Time Complexity: O(1)
+     *
+     * @param indexed true to maintain a key index
+     */
+    public DoublyLinkedList(boolean indexed) {
         this.head = null;
         this.tail = null;
         this.size = 0;
+        this.index = indexed ? new NodeIndex<>() : null;
+    }
+
+    /**
+     * Checks whether this list maintains a key index.
+     * Time Complexity: O(1)
+     *
+     * @return true if the list was constructed in indexed mode
+     */
+    public boolean isIndexed() {
+        return index != null;
     }
 
     /**
@@ -30,15 +73,9 @@ public class DoublyLinkedList<T> {
      * @param newItem the item to insert
      */
     public void insertFirst(T newItem) {
-        DoublyLink<T> newLink = new DoublyLink<>(newItem);
-        if (isEmpty()) {
-            head = tail = newLink;
-        } else {
-            newLink.next = head;
-            head.previous = newLink;
-            head = newLink;
-        }
-        size++;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        linkFirst(newItem);
+        if (Metrics.ENABLED) INSERT_FIRST_STATS.record(start, 0);
     }
 
     /**
@@ -49,15 +86,9 @@ public class DoublyLinkedList<T> {
      * @param newItem the item to insert
      */
     public void insertLast(T newItem) {
-        DoublyLink<T> newLink = new DoublyLink<>(newItem);
-        if (isEmpty()) {
-            head = tail = newLink;
-        } else {
-            tail.next = newLink;
-            newLink.previous = tail;
-            tail = newLink;
-        }
-        size++;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        linkLast(newItem);
+        if (Metrics.ENABLED) INSERT_LAST_STATS.record(start, 0);
     }
 
     /**
@@ -65,29 +96,35 @@ public class DoublyLinkedList<T> {
      * Uses forward traversal to locate the insertion point.
      * Time Complexity: O(n)
      *
-     * @param newItem the item to insert
-     * @param index   the position to insert at (0 ≤ index ≤ size)
+     * @param newItem  the item to insert
+     * @param position the position to insert at (0 ≤ position ≤ size)
      */
-    public void insertAt(T newItem, int index) {
-        if (index < 0 || index > size) {
-            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+    public void insertAt(T newItem, int position) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int steps = 0;
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + position);
         }
-        if (index == 0) {
-            insertFirst(newItem);
-        } else if (index == size) {
-            insertLast(newItem);
+        if (position == 0) {
+            linkFirst(newItem);
+        } else if (position == size) {
+            linkLast(newItem);
         } else {
             DoublyLink<T> current = head;
-            for (int i = 0; i < index; i++) {
+            for (int i = 0; i < position; i++) {
                 current = current.next;
             }
+            steps = position;
             DoublyLink<T> newLink = new DoublyLink<>(newItem);
             newLink.previous = current.previous;
             newLink.next = current;
             current.previous.next = newLink;
             current.previous = newLink;
+            if (index != null) index.add(newItem, countMatches(newItem, newLink), newLink);
             size++;
+            bloomAdded(newItem);
         }
+        if (Metrics.ENABLED) INSERT_AT_STATS.record(start, steps);
     }
 
     /**
@@ -97,14 +134,10 @@ public class DoublyLinkedList<T> {
      * @return true if an item was deleted, false if the list was empty
      */
     public boolean deleteFirst() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         if (isEmpty()) return false;
-        if (head == tail) {
-            head = tail = null;
-        } else {
-            head = head.next;
-            head.previous = null;
-        }
-        size--;
+        unlinkFirst();
+        if (Metrics.ENABLED) DELETE_FIRST_STATS.record(start, 0);
         return true;
     }
 
@@ -115,14 +148,10 @@ public class DoublyLinkedList<T> {
      * @return true if an item was deleted, false if the list was empty
      */
     public boolean deleteLast() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         if (isEmpty()) return false;
-        if (head == tail) {
-            head = tail = null;
-        } else {
-            tail = tail.previous;
-            tail.next = null;
-        }
-        size--;
+        unlinkLast();
+        if (Metrics.ENABLED) DELETE_LAST_STATS.record(start, 0);
         return true;
     }
 
@@ -130,71 +159,158 @@ public class DoublyLinkedList<T> {
      * Deletes the item at the specified index.
      * Time Complexity: O(n) due to traversal.
      *
-     * @param index the position to delete (0 ≤ index < size)
+     * @param position the position to delete (0 ≤ position < size)
      * @return true if deletion succeeded, false otherwise
      */
-    public boolean deleteAt(int index) {
-        if (index < 0 || index >= size) return false;
-        if (index == 0) {
-            return deleteFirst();
-        } else if (index == size - 1) {
-            return deleteLast();
-        } else {
-            DoublyLink<T> current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
+    public boolean deleteAt(int position) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int steps = 0;
+        try {
+            if (position < 0 || position >= size) return false;
+            if (position == 0) {
+                unlinkFirst();
+            } else if (position == size - 1) {
+                unlinkLast();
+            } else {
+                DoublyLink<T> current = head;
+                for (int i = 0; i < position; i++) {
+                    current = current.next;
+                }
+                steps = position;
+                if (index != null) index.remove(current.data, countMatches(current.data, current));
+                unlinkInner(current);
             }
-            current.previous.next = current.next;
-            current.next.previous = current.previous;
-            size--;
             return true;
+        } finally {
+            if (Metrics.ENABLED) DELETE_AT_STATS.record(start, steps);
         }
     }
 
     /**
      * Deletes the first occurrence of the specified key.
-     * Handles updates to head/tail if needed.
-     * Time Complexity: O(n)
+     * Handles updates to head/tail if needed. A null key matches null data.
+     * Time Complexity: O(n); in indexed mode O(1) expected.
      *
      * @param key the value to remove
      * @return true if the key was found and deleted, false otherwise
      */
     public boolean deleteKey(T key) {
-        DoublyLink<T> current = head;
-        while (current != null && !current.data.equals(key)) {
-            current = current.next;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int[] steps = Metrics.ENABLED ? new int[1] : null;
+        DoublyLink<T> current = findNode(key, steps);
+        if (current == null) {
+            if (Metrics.ENABLED) DELETE_KEY_STATS.record(start, steps[0]);
+            return false;
         }
-        if (current == null) return false;
         if (current == head) {
-            deleteFirst();
+            unlinkFirst();
         } else if (current == tail) {
-            deleteLast();
+            unlinkLast();
         } else {
-            current.previous.next = current.next;
-            current.next.previous = current.previous;
-            size--;
+            if (index != null) index.removeFirst(key);
+            unlinkInner(current);
         }
+        if (Metrics.ENABLED) DELETE_KEY_STATS.record(start, steps[0]);
         return true;
     }
 
     /**
      * Finds the index of the first occurrence of the specified key.
-     * Time Complexity: O(n)
+     * Time Complexity: O(n); in indexed mode O(1) expected when the key is absent.
      *
      * @param key the value to search for
      * @return the index of the key, or -1 if not found
      */
     public int find(T key) {
-        DoublyLink<T> current = head;
-        int index = 0;
-        while (current != null) {
-            if (current.data.equals(key)) {
-                return index;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int position = 0;
+        try {
+            if (index != null && !index.contains(key)) return -1;
+            if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(key))) return -1;
+            DoublyLink<T> current = head;
+            while (current != null) {
+                if (matches(current.data, key)) {
+                    return position;
+                }
+                current = current.next;
+                position++;
             }
+            return -1;
+        } finally {
+            if (Metrics.ENABLED) FIND_STATS.record(start, position);
+        }
+    }
+
+    /**
+     * Checks whether the list contains the specified key.
+     * Time Complexity: O(n); in indexed mode O(1) expected, and O(1) for most absent keys
+     * when the Bloom filter is enabled.
+     *
+     * @param key the value to search for
+     * @return true if some element equals the key
+     */
+    public boolean contains(T key) {
+        if (index != null) return index.contains(key);
+        return find(key) != -1;
+    }
+
+    /**
+     * Returns the link holding the first occurrence of the specified key.
+     * The handle stays valid until that link is deleted.
+     * Time Complexity: O(n); in indexed mode O(1) expected.
+     *
+     * @param key the value to search for
+     * @return the link holding the key, or null if not found
+     */
+    public DoublyLink<T> findNode(T key) {
+        return findNode(key, null);
+    }
+
+    // findNode that also adds the links passed on the way to steps[0], unless steps is null
+    private DoublyLink<T> findNode(T key, int[] steps) {
+        if (index != null) return index.first(key);
+        if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(key))) return null;
+        int passed = 0;
+        DoublyLink<T> current = head;
+        while (current != null && !matches(current.data, key)) {
             current = current.next;
-            index++;
+            passed++;
         }
-        return -1;
+        if (steps != null) steps[0] += passed;
+        return current;
+    }
+
+    /**
+     * Keeps a blocked Bloom filter of the keys so find(), contains(), findNode() and deleteKey()
+     * return immediately for keys that are definitely absent.
+     * Deleted keys stay in the filter until more than rebuildThreshold of its keys are stale,
+     * and the filter is resized as the list grows; both cases rebuild it from the list.
+     * Time Complexity: O(n)
+     *
+     * @param falsePositiveRate the target false-positive rate, in (0, 1)
+     * @param rebuildThreshold  the fraction of stale keys that triggers a rebuild, in (0, 1]
+     */
+    public void enableBloomFilter(double falsePositiveRate, double rebuildThreshold) {
+        bloom = new BlockedBloomFilter(0, falsePositiveRate, rebuildThreshold);
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Turns the Bloom filter off.
+     * Time Complexity: O(1)
+     */
+    public void disableBloomFilter() {
+        bloom = null;
+    }
+
+    /**
+     * Returns the Bloom filter, e.g. to inspect its settings or estimated false-positive rate.
+     * Time Complexity: O(1)
+     *
+     * @return the filter, or null when disabled
+     */
+    public BlockedBloomFilter bloomFilter() {
+        return bloom;
     }
 
     /**
@@ -207,6 +323,21 @@ public class DoublyLinkedList<T> {
         return head == null;
     }
 
+    /**
+     * Returns the number of items in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    // First link, for same-package traversal (e.g. ListCodec); null if empty
+    DoublyLink<T> firstLink() {
+        return head;
+    }
+
     /**
      * Returns a string representation of the list in forward order.
      * Time Complexity: O(n)
@@ -215,38 +346,195 @@ public class DoublyLinkedList<T> {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder("[");
-        DoublyLink<T> current = head;
-        while (current != null) {
-            sb.append(current.data);
-            if (current.next != null) sb.append(", ");
-            current = current.next;
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
         }
-        sb.append("]");
         return sb.toString();
     }
 
     /**
-     * Displays the list from head to tail.
+     * Streams the list from head to tail to the given destination.
+     * Text is written in bounded chunks, so huge lists are never held in memory as one string.
+     * Time Complexity: O(n)
+     *
+     * @param out the destination, e.g. a Writer or System.out
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams at most limit items, from head to tail, to the given destination.
+     * A truncated list ends with "... and N more]".
+     * Time Complexity: O(min(n, limit))
+     *
+     * @param out   the destination, e.g. a Writer or System.out
+     * @param limit the maximum number of items to write (≥ 0)
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out, int limit) throws IOException {
+        ListWriter writer = new ListWriter(out, limit, size);
+        for (DoublyLink<T> current = head; current != null && writer.wantsMore(); current = current.next) {
+            writer.element(current.data);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Streams the list from tail to head to the given destination.
+     * Time Complexity: O(n)
+     *
+     * @param out the destination, e.g. a Writer or System.out
+     * @throws IOException if the destination fails
+     */
+    public void writeBackwardTo(Appendable out) throws IOException {
+        writeBackwardTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams at most limit items, from tail to head, to the given destination.
+     * A truncated list ends with "... and N more]".
+     * Time Complexity: O(min(n, limit))
+     *
+     * @param out   the destination, e.g. a Writer or System.out
+     * @param limit the maximum number of items to write (≥ 0)
+     * @throws IOException if the destination fails
+     */
+    public void writeBackwardTo(Appendable out, int limit) throws IOException {
+        ListWriter writer = new ListWriter(out, limit, size);
+        for (DoublyLink<T> current = tail; current != null && writer.wantsMore(); current = current.previous) {
+            writer.element(current.data);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Displays the list from head to tail, streaming it to the console.
      * Time Complexity: O(n)
      */
     public void displayForward() {
-        System.out.println(toString());
+        try {
+            writeTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream never throws
+        }
+        System.out.println();
     }
 
     /**
-     * Displays the list from tail to head (backward traversal).
+     * Displays the list from tail to head (backward traversal), streaming it to the console.
      * Time Complexity: O(n)
      */
     public void displayBackward() {
-        StringBuilder sb = new StringBuilder("[");
-        DoublyLink<T> current = tail;
-        while (current != null) {
-            sb.append(current.data);
-            if (current.previous != null) sb.append(", ");
-            current = current.previous;
+        try {
+            writeBackwardTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream never throws
+        }
+        System.out.println();
+    }
+
+    // Unrecorded body of insertFirst; it and linkLast, unlinkFirst, unlinkLast and unlinkInner
+    // are shared by the positional and key-based methods, so each public call is recorded once
+    private void linkFirst(T newItem) {
+        DoublyLink<T> newLink = new DoublyLink<>(newItem);
+        if (isEmpty()) {
+            head = tail = newLink;
+        } else {
+            newLink.next = head;
+            head.previous = newLink;
+            head = newLink;
+        }
+        if (index != null) index.addFirst(newItem, newLink);
+        size++;
+        bloomAdded(newItem);
+    }
+
+    private void linkLast(T newItem) {
+        DoublyLink<T> newLink = new DoublyLink<>(newItem);
+        if (isEmpty()) {
+            head = tail = newLink;
+        } else {
+            tail.next = newLink;
+            newLink.previous = tail;
+            tail = newLink;
+        }
+        if (index != null) index.addLast(newItem, newLink);
+        size++;
+        bloomAdded(newItem);
+    }
+
+    // Requires a non-empty list
+    private void unlinkFirst() {
+        if (index != null) index.removeFirst(head.data);
+        if (head == tail) {
+            head = tail = null;
+        } else {
+            head = head.next;
+            head.previous = null;
+        }
+        size--;
+        bloomRemoved();
+    }
+
+    // Requires a non-empty list
+    private void unlinkLast() {
+        if (index != null) index.removeLast(tail.data);
+        if (head == tail) {
+            head = tail = null;
+        } else {
+            tail = tail.previous;
+            tail.next = null;
+        }
+        size--;
+        bloomRemoved();
+    }
+
+    // Unlinks a link that is neither head nor tail; the caller updates the index
+    private void unlinkInner(DoublyLink<T> link) {
+        link.previous.next = link.next;
+        link.next.previous = link.previous;
+        size--;
+        bloomRemoved();
+    }
+
+    // Counts the links before target whose data equals key
+    private int countMatches(T key, DoublyLink<T> target) {
+        int count = 0;
+        for (DoublyLink<T> current = head; current != target; current = current.next) {
+            if (matches(current.data, key)) count++;
+        }
+        return count;
+    }
+
+    // Null-safe equality matching the data.equals(key) convention
+    private static boolean matches(Object data, Object key) {
+        return data == null ? key == null : data.equals(key);
+    }
+
+    // Records an inserted key in the Bloom filter, if enabled
+    private void bloomAdded(T item) {
+        if (bloom == null) return;
+        bloom.put(BlockedBloomFilter.hash(item));
+        if (bloom.needsRebuild()) rebuildBloomFilter();
+    }
+
+    // Records a deleted key in the Bloom filter, if enabled
+    private void bloomRemoved() {
+        if (bloom == null) return;
+        bloom.recordDelete();
+        if (bloom.needsRebuild()) rebuildBloomFilter();
+    }
+
+    // Refills a fresh Bloom filter, sized with room to grow, from the current keys
+    private void rebuildBloomFilter() {
+        bloom = bloom.emptyCopy(Math.max(1024, 2 * size));
+        for (DoublyLink<T> current = head; current != null; current = current.next) {
+            bloom.put(BlockedBloomFilter.hash(current.data));
         }
-        sb.append("]");
-        System.out.println(sb.toString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package LinkedList;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts list elements to and from bytes for ListCodec.
+ * Each element is written as a length-prefixed record; the codec only handles the payload.
+ * Null elements never reach the codec, they are recorded by the length prefix alone.
+ *
+ * @param <T> the type of elements handled
+ */
+public interface ElementCodec<T> {
+    /** Fixed-width 4-byte encoding of Integer elements. */
+    ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+        public int sizeOf(Integer value) { return Integer.BYTES; }
+        public void write(Integer value, ByteBuffer dst) { dst.putInt(value); }
+        public Integer read(ByteBuffer src, int length) { return src.getInt(); }
+    };
+
+    /** Fixed-width 8-byte encoding of Long elements. */
+    ElementCodec<Long> LONG = new ElementCodec<Long>() {
+        public int sizeOf(Long value) { return Long.BYTES; }
+        public void write(Long value, ByteBuffer dst) { dst.putLong(value); }
+        public Long read(ByteBuffer src, int length) { return src.getLong(); }
+    };
+
+    /** UTF-8 encoding of String elements. */
+    ElementCodec<String> UTF8 = new ElementCodec<String>() {
+        public int sizeOf(String value) {
+            // Counted without encoding; unpaired surrogates become a 1-byte '?'
+            int bytes = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    bytes += 1;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+        // Per-thread encoder and char staging buffer, reused for every element so encoding
+        // allocates nothing; REPLACE matches sizeOf()'s 1-byte '?' for unpaired surrogates
+        private final ThreadLocal<CharsetEncoder> encoder = ThreadLocal.withInitial(() ->
+                StandardCharsets.UTF_8.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        private final ThreadLocal<CharBuffer> staging = ThreadLocal.withInitial(() -> CharBuffer.allocate(256));
+
+        public void write(String value, ByteBuffer dst) {
+            int length = value.length();
+            CharBuffer chars = staging.get();
+            if (chars.capacity() < length) {
+                chars = CharBuffer.allocate(Math.max(length, 2 * chars.capacity()));
+                staging.set(chars);
+            }
+            value.getChars(0, length, chars.array(), 0);
+            chars.clear().limit(length);
+            CharsetEncoder utf8 = encoder.get().reset();
+            utf8.encode(chars, dst, true);
+            utf8.flush(dst);
+        }
+        public String read(ByteBuffer src, int length) {
+            byte[] bytes = new byte[length];
+            src.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Returns the exact number of bytes write() will produce for the value.
+     *
+     * @param value a non-null element
+     * @return the encoded size in bytes
+     */
+    int sizeOf(T value);
+
+    /**
+     * Encodes the value at the buffer's position.
+     * The buffer is guaranteed to have at least sizeOf(value) bytes remaining.
+     *
+     * @param value a non-null element
+     * @param dst   the destination buffer
+     */
+    void write(T value, ByteBuffer dst);
+
+    /**
+     * Decodes one value of the given encoded length from the buffer's position.
+     * The buffer is guaranteed to have at least length bytes remaining.
+     *
+     * @param src    the source buffer
+     * @param length the encoded size recorded for this element
+     * @return the decoded element
+     */
+    T read(ByteBuffer src, int length);
+}
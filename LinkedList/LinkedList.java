@@ -1,4 +1,11 @@
 package LinkedList;
+
+import Filter.BlockedBloomFilter;
+import Metrics.Metrics;
+import Metrics.OperationStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * A generic, double-ended singly linked list implementation.
  * Supports insertion and deletion at both ends, as well as at arbitrary positions.
@@ -8,9 +15,22 @@ package LinkedList;
  * @param <T> the type of elements stored in the list
  */
 public class LinkedList<T> {
+    // Operation metrics, shared by all lists; only recorded when Metrics.ENABLED, otherwise
+    // compiled away. Work is nodes traversed
+    private static final OperationStats INSERT_FIRST_STATS = Metrics.operation("LinkedList", "insertFirst");
+    private static final OperationStats INSERT_LAST_STATS = Metrics.operation("LinkedList", "insertLast");
+    private static final OperationStats INSERT_AT_STATS = Metrics.operation("LinkedList", "insertAt");
+    private static final OperationStats DELETE_FIRST_STATS = Metrics.operation("LinkedList", "deleteFirst");
+    private static final OperationStats DELETE_LAST_STATS = Metrics.operation("LinkedList", "deleteLast");
+    private static final OperationStats DELETE_AT_STATS = Metrics.operation("LinkedList", "deleteAt");
+    private static final OperationStats DELETE_KEY_STATS = Metrics.operation("LinkedList", "deleteKey");
+    private static final OperationStats FIND_STATS = Metrics.operation("LinkedList", "find");
+
     private Link<T> head; // Points to the first element
     private Link<T> tail; // Points to the last element
     private int size;     // Tracks the number of elements (optional but useful)
+    private final NodeIndex<T, Link<T>> index; // Key -> node(s) index; null unless indexed
+    private BlockedBloomFilter bloom; // Optional fast-reject filter for lookups; null when disabled
 
     /**
      * Constructs an empty linked list.
@@ -18,9 +38,33 @@ public class LinkedList<T> {
      * Time Complexity: O(1)
      */
     public LinkedList() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty linked list, optionally maintaining a hash index of its keys.
+     * In indexed mode every insert and delete also updates the index, so contains(),
+     * deleteKey() and findNode() run in expected O(1) and find() rejects absent keys in O(1).
+     * The index costs one hash entry per distinct key.
+     * Time Complexity: O(1)
+     *
+     * @param indexed true to maintain a key index
+     */
+    public LinkedList(boolean indexed) {
         this.head = null;
         this.tail = null;
         this.size = 0;
+        this.index = indexed ? new NodeIndex<>() : null;
+    }
+
+    /**
+     * Checks whether this list maintains a key index.
+     * Time Complexity: O(1)
+     *
+     * @return true if the list was constructed in indexed mode
+     */
+    public boolean isIndexed() {
+        return index != null;
     }
 
     /**
@@ -31,14 +75,9 @@ public class LinkedList<T> {
      * @param newItem the item to insert
      */
     public void insertFirst(T newItem) {
-        Link<T> newLink = new Link<>(newItem);
-        if (isEmpty()) {
-            tail = newLink;
-        } else {
-            newLink.next = head;
-        }
-        head = newLink;
-        size++;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        linkFirst(newItem);
+        if (Metrics.ENABLED) INSERT_FIRST_STATS.record(start, 0);
     }
 
     /**
@@ -49,43 +88,44 @@ public class LinkedList<T> {
      * @param newItem the item to insert
      */
     public void insertLast(T newItem) {
-        Link<T> newLink = new Link<>(newItem);
-        if (isEmpty()) {
-            head = newLink;
-        } else {
-            tail.next = newLink;
-        }
-        tail = newLink;
-        size++;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        linkLast(newItem);
+        if (Metrics.ENABLED) INSERT_LAST_STATS.record(start, 0);
     }
 
     /**
      * Inserts a new item at the specified index (0-based).
      * Supports insertion at the beginning, middle, or end.
-     * Throws IndexOutOfBoundsException if index is invalid.
+     * Throws IndexOutOfBoundsException if position is invalid.
      * Time Complexity: O(n) due to traversal to the insertion point.
      *
-     * @param newItem the item to insert
-     * @param index   the position at which to insert (0 ≤ index ≤ size)
+     * @param newItem  the item to insert
+     * @param position the position at which to insert (0 ≤ position ≤ size)
      */
-    public void insertAt(T newItem, int index) {
-        if (index < 0 || index > size) {
-            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+    public void insertAt(T newItem, int position) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int steps = 0;
+        if (position < 0 || position > size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + position);
         }
-        if (index == 0) {
-            insertFirst(newItem);
-        } else if (index == size) {
-            insertLast(newItem);
+        if (position == 0) {
+            linkFirst(newItem);
+        } else if (position == size) {
+            linkLast(newItem);
         } else {
             Link<T> current = head;
-            for (int i = 0; i < index - 1; i++) {
+            for (int i = 0; i < position - 1; i++) {
                 current = current.next;
             }
+            steps = position - 1;
             Link<T> newLink = new Link<>(newItem);
             newLink.next = current.next;
             current.next = newLink;
+            if (index != null) index.add(newItem, countMatches(newItem, newLink), newLink);
             size++;
+            bloomAdded(newItem);
         }
+        if (Metrics.ENABLED) INSERT_AT_STATS.record(start, steps);
     }
 
     /**
@@ -96,12 +136,10 @@ public class LinkedList<T> {
      * @return true if an item was deleted, false if the list was empty
      */
     public boolean deleteFirst() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         if (isEmpty()) return false;
-        if (head == tail) {
-            tail = null;
-        }
-        head = head.next;
-        size--;
+        unlinkFirst();
+        if (Metrics.ENABLED) DELETE_FIRST_STATS.record(start, 0);
         return true;
     }
 
@@ -113,18 +151,10 @@ public class LinkedList<T> {
      * @return true if an item was deleted, false if the list was empty
      */
     public boolean deleteLast() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         if (isEmpty()) return false;
-        if (head == tail) {
-            head = tail = null;
-        } else {
-            Link<T> current = head;
-            while (current.next != tail) {
-                current = current.next;
-            }
-            current.next = null;
-            tail = current;
-        }
-        size--;
+        int steps = unlinkLast();
+        if (Metrics.ENABLED) DELETE_LAST_STATS.record(start, steps);
         return true;
     }
 
@@ -133,72 +163,172 @@ public class LinkedList<T> {
      * Handles deletion at the beginning, middle, or end.
      * Time Complexity: O(n) due to traversal.
      *
-     * @param index the position of the item to delete (0 ≤ index < size)
-     * @return true if deletion succeeded, false if index is invalid
+     * @param position the position of the item to delete (0 ≤ position < size)
+     * @return true if deletion succeeded, false if position is invalid
      */
-    public boolean deleteAt(int index) {
-        if (index < 0 || index >= size) return false;
-        if (index == 0) {
-            return deleteFirst();
-        } else if (index == size - 1) {
-            return deleteLast();
-        } else {
-            Link<T> prev = head;
-            for (int i = 0; i < index - 1; i++) {
-                prev = prev.next;
+    public boolean deleteAt(int position) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int steps = 0;
+        try {
+            if (position < 0 || position >= size) return false;
+            if (position == 0) {
+                unlinkFirst();
+                return true;
+            } else if (position == size - 1) {
+                steps = unlinkLast();
+                return true;
+            } else {
+                Link<T> prev = head;
+                for (int i = 0; i < position - 1; i++) {
+                    prev = prev.next;
+                }
+                steps = position - 1;
+                if (index != null) {
+                    T key = prev.next.data;
+                    index.remove(key, countMatches(key, prev.next));
+                }
+                prev.next = prev.next.next;
+                size--;
+                bloomRemoved();
+                return true;
             }
-            prev.next = prev.next.next;
-            size--;
-            return true;
+        } finally {
+            if (Metrics.ENABLED) DELETE_AT_STATS.record(start, steps);
         }
     }
 
     /**
      * Deletes the first occurrence of the specified key.
-     * Uses equals() for comparison.
+     * Uses equals() for comparison; a null key matches null data.
      * Time Complexity: O(n) — linear search followed by O(1) pointer update.
+     * In indexed mode: O(1) expected, except O(n) when the occurrence is the tail.
      *
      * @param key the value to remove
      * @return true if the key was found and deleted, false otherwise
      */
     public boolean deleteKey(T key) {
-        if (isEmpty()) return false;
-        if (head.data.equals(key)) {
-            deleteFirst();
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int steps = 0;
+        try {
+            if (isEmpty()) return false;
+            if (index != null) {
+                steps = deleteIndexed(key);
+                return steps != -1;
+            }
+            if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(key))) return false;
+            if (matches(head.data, key)) {
+                unlinkFirst();
+                return true;
+            }
+            Link<T> current = head;
+            while (current.next != null && !matches(current.next.data, key)) {
+                current = current.next;
+                steps++;
+            }
+            if (current.next == null) return false;
+            if (current.next == tail) {
+                tail = current;
+            }
+            current.next = current.next.next;
+            size--;
+            bloomRemoved();
             return true;
+        } finally {
+            if (Metrics.ENABLED) DELETE_KEY_STATS.record(start, steps);
         }
-        Link<T> current = head;
-        while (current.next != null && !current.next.data.equals(key)) {
-            current = current.next;
-        }
-        if (current.next == null) return false;
-        if (current.next == tail) {
-            tail = current;
-        }
-        current.next = current.next.next;
-        size--;
-        return true;
     }
 
     /**
      * Finds the first occurrence of the specified key and returns its index.
      * Returns -1 if the key is not found.
-     * Time Complexity: O(n)
+     * Time Complexity: O(n); in indexed mode O(1) expected when the key is absent.
      *
      * @param key the value to search for
      * @return the index of the key, or -1 if not found
      */
     public int find(T key) {
-        Link<T> current = head;
-        int index = 0;
-        while (current != null) {
-            if (current.data.equals(key)) {
-                return index;
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int position = 0;
+        try {
+            if (index != null && !index.contains(key)) return -1;
+            if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(key))) return -1;
+            Link<T> current = head;
+            while (current != null) {
+                if (matches(current.data, key)) {
+                    return position;
+                }
+                current = current.next;
+                position++;
             }
+            return -1;
+        } finally {
+            if (Metrics.ENABLED) FIND_STATS.record(start, position);
+        }
+    }
+
+    /**
+     * Checks whether the list contains the specified key.
+     * Time Complexity: O(n); in indexed mode O(1) expected, and O(1) for most absent keys
+     * when the Bloom filter is enabled.
+     *
+     * @param key the value to search for
+     * @return true if some element equals the key
+     */
+    public boolean contains(T key) {
+        if (index != null) return index.contains(key);
+        return find(key) != -1;
+    }
+
+    /**
+     * Returns the link holding the first occurrence of the specified key.
+     * The handle is only valid until the list is next modified: deleteKey() in indexed
+     * mode may move data between links instead of unlinking the matching one.
+     * Time Complexity: O(n); in indexed mode O(1) expected.
+     *
+     * @param key the value to search for
+     * @return the link holding the key, or null if not found
+     */
+    public Link<T> findNode(T key) {
+        if (index != null) return index.first(key);
+        if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(key))) return null;
+        Link<T> current = head;
+        while (current != null && !matches(current.data, key)) {
             current = current.next;
-            index++;
         }
-        return -1;
+        return current;
+    }
+
+    /**
+     * Keeps a blocked Bloom filter of the keys so find(), contains(), findNode() and deleteKey()
+     * return immediately for keys that are definitely absent.
+     * Deleted keys stay in the filter until more than rebuildThreshold of its keys are stale,
+     * and the filter is resized as the list grows; both cases rebuild it from the list.
+     * Time Complexity: O(n)
+     *
+     * @param falsePositiveRate the target false-positive rate, in (0, 1)
+     * @param rebuildThreshold  the fraction of stale keys that triggers a rebuild, in (0, 1]
+     */
+    public void enableBloomFilter(double falsePositiveRate, double rebuildThreshold) {
+        bloom = new BlockedBloomFilter(0, falsePositiveRate, rebuildThreshold);
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Turns the Bloom filter off.
+     * Time Complexity: O(1)
+     */
+    public void disableBloomFilter() {
+        bloom = null;
+    }
+
+    /**
+     * Returns the Bloom filter, e.g. to inspect its settings or estimated false-positive rate.
+     * Time Complexity: O(1)
+     *
+     * @return the filter, or null when disabled
+     */
+    public BlockedBloomFilter bloomFilter() {
+        return bloom;
     }
 
     /**
@@ -211,6 +341,21 @@ public class LinkedList<T> {
         return head == null;
     }
 
+    /**
+     * Returns the number of items in the list.
+     * Time Complexity: O(1)
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    // First link, for same-package traversal (e.g. ListCodec); null if empty
+    Link<T> firstLink() {
+        return head;
+    }
+
     /**
      * Returns a string representation of the list in the format "[item1, item2, ...]".
      * Useful for debugging and display.
@@ -220,22 +365,174 @@ public class LinkedList<T> {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder("[");
-        Link<T> current = head;
-        while (current != null) {
-            sb.append(current.data);
-            if (current.next != null) sb.append(", ");
-            current = current.next;
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
         }
-        sb.append("]");
         return sb.toString();
     }
 
     /**
-     * Prints the list to the console using toString().
+     * Streams the list in the format "[item1, item2, ...]" to the given destination.
+     * Text is written in bounded chunks, so huge lists are never held in memory as one string.
+     * Time Complexity: O(n)
+     *
+     * @param out the destination, e.g. a Writer or System.out
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streams at most limit items to the given destination.
+     * A truncated list ends with "... and N more]".
+     * Time Complexity: O(min(n, limit))
+     *
+     * @param out   the destination, e.g. a Writer or System.out
+     * @param limit the maximum number of items to write (≥ 0)
+     * @throws IOException if the destination fails
+     */
+    public void writeTo(Appendable out, int limit) throws IOException {
+        ListWriter writer = new ListWriter(out, limit, size);
+        for (Link<T> current = head; current != null && writer.wantsMore(); current = current.next) {
+            writer.element(current.data);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Prints the list to the console, streaming it through writeTo().
      * Time Complexity: O(n)
      */
     public void display() {
-        System.out.println(toString());
+        try {
+            writeTo(System.out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // PrintStream never throws
+        }
+        System.out.println();
+    }
+
+    // Unrecorded body of insertFirst; it and linkLast, unlinkFirst and unlinkLast are shared by
+    // the positional and key-based methods, so each public call is recorded once, as itself
+    private void linkFirst(T newItem) {
+        Link<T> newLink = new Link<>(newItem);
+        if (isEmpty()) {
+            tail = newLink;
+        } else {
+            newLink.next = head;
+        }
+        head = newLink;
+        if (index != null) index.addFirst(newItem, newLink);
+        size++;
+        bloomAdded(newItem);
+    }
+
+    private void linkLast(T newItem) {
+        Link<T> newLink = new Link<>(newItem);
+        if (isEmpty()) {
+            head = newLink;
+        } else {
+            tail.next = newLink;
+        }
+        tail = newLink;
+        if (index != null) index.addLast(newItem, newLink);
+        size++;
+        bloomAdded(newItem);
+    }
+
+    // Requires a non-empty list
+    private void unlinkFirst() {
+        if (index != null) index.removeFirst(head.data);
+        if (head == tail) {
+            tail = null;
+        }
+        head = head.next;
+        size--;
+        bloomRemoved();
+    }
+
+    // Requires a non-empty list; returns the links traversed to reach the new tail
+    private int unlinkLast() {
+        int steps = 0;
+        if (index != null) index.removeLast(tail.data);
+        if (head == tail) {
+            head = tail = null;
+        } else {
+            Link<T> current = head;
+            while (current.next != tail) {
+                current = current.next;
+                steps++;
+            }
+            current.next = null;
+            tail = current;
+        }
+        size--;
+        bloomRemoved();
+        return steps;
+    }
+
+    // Removes the first occurrence of key using the index; returns the links traversed, or -1
+    // if the key is absent.
+    // A singly linked node cannot be unlinked without its predecessor, so the successor's
+    // data is pulled into the node and the successor is unlinked instead.
+    private int deleteIndexed(T key) {
+        Link<T> node = index.first(key);
+        if (node == null) return -1;
+        if (node == head) {
+            unlinkFirst();
+            return 0;
+        }
+        if (node == tail) return unlinkLast();
+        Link<T> next = node.next;
+        index.removeFirst(key);
+        index.replace(next.data, next, node);
+        node.data = next.data;
+        node.next = next.next;
+        if (next == tail) {
+            tail = node;
+        }
+        size--;
+        bloomRemoved();
+        return 0;
+    }
+
+    // Counts the links before target whose data equals key
+    private int countMatches(T key, Link<T> target) {
+        int count = 0;
+        for (Link<T> current = head; current != target; current = current.next) {
+            if (matches(current.data, key)) count++;
+        }
+        return count;
+    }
+
+    // Null-safe equality matching the data.equals(key) convention
+    private static boolean matches(Object data, Object key) {
+        return data == null ? key == null : data.equals(key);
+    }
+
+    // Records an inserted key in the Bloom filter, if enabled
+    private void bloomAdded(T item) {
+        if (bloom == null) return;
+        bloom.put(BlockedBloomFilter.hash(item));
+        if (bloom.needsRebuild()) rebuildBloomFilter();
+    }
+
+    // Records a deleted key in the Bloom filter, if enabled
+    private void bloomRemoved() {
+        if (bloom == null) return;
+        bloom.recordDelete();
+        if (bloom.needsRebuild()) rebuildBloomFilter();
+    }
+
+    // Refills a fresh Bloom filter, sized with room to grow, from the current keys
+    private void rebuildBloomFilter() {
+        bloom = bloom.emptyCopy(Math.max(1024, 2 * size));
+        for (Link<T> current = head; current != null; current = current.next) {
+            bloom.put(BlockedBloomFilter.hash(current.data));
+        }
     }
-}
\ No newline at end of file
+}
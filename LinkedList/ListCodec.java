@@ -0,0 +1,262 @@
+package LinkedList;
+
+import IO.BufferPool;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A compact binary format for LinkedList and DoublyLinkedList contents, written to and read
+ * from NIO channels through pooled direct buffers.
+ * Layout: a 4-byte magic number, a 4-byte element count, then one record per element in list
+ * order. Each record is a 4-byte length (-1 for a null element) followed by that many bytes
+ * produced by the element codec. All integers are big-endian.
+ * Records are batched into buffer-sized channel writes; only elements larger than a pooled
+ * buffer get a temporary buffer of their own.
+ *
+ * @param <T> the type of elements handled
+ */
+public class ListCodec<T> {
+    static final int MAGIC = 0x4C535431; // "LST1"
+    private static final int NULL_LENGTH = -1;
+
+    private final ElementCodec<T> codec;
+    private final BufferPool pool;
+
+    /**
+     * Constructs a codec using the shared buffer pool.
+     *
+     * @param codec the element codec
+     */
+    public ListCodec(ElementCodec<T> codec) {
+        this(codec, BufferPool.DEFAULT);
+    }
+
+    /**
+     * Constructs a codec borrowing its I/O buffers from the given pool.
+     *
+     * @param codec the element codec
+     * @param pool  the buffer pool; buffers must hold at least 8 bytes
+     */
+    public ListCodec(ElementCodec<T> codec, BufferPool pool) {
+        if (codec == null || pool == null) {
+            throw new IllegalArgumentException("Codec and pool must not be null");
+        }
+        if (pool.bufferSize() < 8) {
+            throw new IllegalArgumentException("Pool buffers must hold at least 8 bytes");
+        }
+        this.codec = codec;
+        this.pool = pool;
+    }
+
+    /**
+     * Writes the list to the channel, head to tail.
+     * Time Complexity: O(n)
+     *
+     * @param list    the list to write
+     * @param channel the destination; left open
+     * @throws IOException if the channel fails
+     */
+    public void write(LinkedList<T> list, WritableByteChannel channel) throws IOException {
+        RecordWriter writer = new RecordWriter(channel, list.size());
+        try {
+            for (Link<T> current = list.firstLink(); current != null; current = current.next) {
+                writer.record(current.data);
+            }
+            writer.flush();
+        } finally {
+            pool.release(writer.buffer);
+        }
+    }
+
+    /**
+     * Writes the list to the channel, head to tail.
+     * Time Complexity: O(n)
+     *
+     * @param list    the list to write
+     * @param channel the destination; left open
+     * @throws IOException if the channel fails
+     */
+    public void write(DoublyLinkedList<T> list, WritableByteChannel channel) throws IOException {
+        RecordWriter writer = new RecordWriter(channel, list.size());
+        try {
+            for (DoublyLink<T> current = list.firstLink(); current != null; current = current.next) {
+                writer.record(current.data);
+            }
+            writer.flush();
+        } finally {
+            pool.release(writer.buffer);
+        }
+    }
+
+    /**
+     * Reads a list written by write() and appends its elements to the target with insertLast().
+     * Reads are batched, so bytes past the end of the list may be consumed from the channel.
+     * Time Complexity: O(n)
+     *
+     * @param channel the source; left open
+     * @param target  the list to append to
+     * @return the number of elements read
+     * @throws IOException if the channel fails or the data is not a list stream
+     */
+    public int readInto(ReadableByteChannel channel, LinkedList<T> target) throws IOException {
+        RecordReader reader = new RecordReader(channel);
+        try {
+            int count = reader.header();
+            for (int i = 0; i < count; i++) {
+                target.insertLast(reader.record());
+            }
+            return count;
+        } finally {
+            pool.release(reader.buffer);
+        }
+    }
+
+    /**
+     * Reads a list written by write() and appends its elements to the target with insertLast().
+     * Reads are batched, so bytes past the end of the list may be consumed from the channel.
+     * Time Complexity: O(n)
+     *
+     * @param channel the source; left open
+     * @param target  the list to append to
+     * @return the number of elements read
+     * @throws IOException if the channel fails or the data is not a list stream
+     */
+    public int readInto(ReadableByteChannel channel, DoublyLinkedList<T> target) throws IOException {
+        RecordReader reader = new RecordReader(channel);
+        try {
+            int count = reader.header();
+            for (int i = 0; i < count; i++) {
+                target.insertLast(reader.record());
+            }
+            return count;
+        } finally {
+            pool.release(reader.buffer);
+        }
+    }
+
+    // Batches records into a pooled buffer and drains it to the channel when full
+    private class RecordWriter {
+        final ByteBuffer buffer = pool.acquire();
+        final WritableByteChannel channel;
+
+        RecordWriter(WritableByteChannel channel, int count) {
+            this.channel = channel;
+            buffer.putInt(MAGIC).putInt(count);
+        }
+
+        void record(T value) throws IOException {
+            if (value == null) {
+                ensure(Integer.BYTES);
+                buffer.putInt(NULL_LENGTH);
+                return;
+            }
+            int length = codec.sizeOf(value);
+            if (Integer.BYTES + length <= buffer.capacity()) {
+                ensure(Integer.BYTES + length);
+                buffer.putInt(length);
+                int start = buffer.position();
+                codec.write(value, buffer);
+                checkLength(buffer.position() - start, length);
+            } else {
+                // Oversized element: encode it into a buffer of its own
+                ensure(Integer.BYTES);
+                buffer.putInt(length);
+                flush();
+                ByteBuffer large = ByteBuffer.allocate(length);
+                codec.write(value, large);
+                checkLength(large.position(), length);
+                large.flip();
+                writeFully(large);
+            }
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        void writeFully(ByteBuffer src) throws IOException {
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+        }
+
+        void checkLength(int written, int expected) {
+            if (written != expected) {
+                throw new IllegalStateException("Element codec wrote " + written + " bytes, sizeOf() promised " + expected);
+            }
+        }
+    }
+
+    // Refills a pooled buffer from the channel and decodes records from it
+    private class RecordReader {
+        final ByteBuffer buffer = pool.acquire();
+        final ReadableByteChannel channel;
+
+        RecordReader(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.flip(); // Start empty in read mode
+        }
+
+        int header() throws IOException {
+            ensure(2 * Integer.BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a list stream");
+            }
+            int count = buffer.getInt();
+            if (count < 0) {
+                throw new IOException("Corrupt list stream: negative count " + count);
+            }
+            return count;
+        }
+
+        T record() throws IOException {
+            ensure(Integer.BYTES);
+            int length = buffer.getInt();
+            if (length == NULL_LENGTH) return null;
+            if (length < 0) {
+                throw new IOException("Corrupt list stream: negative record length " + length);
+            }
+            if (length <= buffer.capacity()) {
+                ensure(length);
+                int start = buffer.position();
+                T value = codec.read(buffer, length);
+                if (buffer.position() - start != length) {
+                    throw new IOException("Element codec read " + (buffer.position() - start) + " of " + length + " bytes");
+                }
+                return value;
+            }
+            // Oversized element: gather it into a buffer of its own
+            ByteBuffer large = ByteBuffer.allocate(length);
+            int buffered = Math.min(buffer.remaining(), length);
+            ByteBuffer head = buffer.duplicate();
+            head.limit(head.position() + buffered);
+            large.put(head);
+            buffer.position(buffer.position() + buffered);
+            while (large.hasRemaining()) {
+                if (channel.read(large) < 0) throw new EOFException("List stream ended mid-record");
+            }
+            large.flip();
+            return codec.read(large, length);
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("List stream ended early");
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package LinkedList;
+
+import java.io.IOException;
+
+/**
+ * Streams the "[item1, item2, ...]" representation of a list to an Appendable.
+ * Text is staged in a small buffer that is flushed every CHUNK_SIZE characters,
+ * so printing a huge list never materializes the whole string.
+ * Output can be truncated after a number of elements, in which case it ends with
+ * "... and N more]".
+ */
+class ListWriter {
+    static final int CHUNK_SIZE = 8192;
+
+    private final Appendable out;
+    private final StringBuilder chunk; // Pending text; the target itself when out is a StringBuilder
+    private final int limit;           // Maximum number of elements to print
+    private final int total;           // Number of elements in the list
+    private int written;               // Number of elements printed so far
+
+    /**
+     * Creates a writer and stages the opening bracket.
+     *
+     * @param out   the destination
+     * @param limit the maximum number of elements to print (≥ 0)
+     * @param total the number of elements in the list, used for the truncation note
+     * @throws IllegalArgumentException if limit is negative
+     */
+    ListWriter(Appendable out, int limit, int total) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be non-negative");
+        }
+        this.out = out;
+        this.chunk = out instanceof StringBuilder ? (StringBuilder) out : new StringBuilder(CHUNK_SIZE + 64);
+        this.limit = limit;
+        this.total = total;
+        this.written = 0;
+        chunk.append('[');
+    }
+
+    /**
+     * Checks whether more elements should be passed to element().
+     *
+     * @return true until the limit has been reached
+     */
+    boolean wantsMore() {
+        return written < limit;
+    }
+
+    /**
+     * Appends the next element, flushing the staged text once it reaches CHUNK_SIZE.
+     *
+     * @param item the element to print
+     * @throws IOException if the destination fails
+     */
+    void element(Object item) throws IOException {
+        if (written > 0) chunk.append(", ");
+        chunk.append(item);
+        written++;
+        if (chunk.length() >= CHUNK_SIZE) flush();
+    }
+
+    /**
+     * Appends the truncation note (if any) and the closing bracket, then flushes.
+     *
+     * @throws IOException if the destination fails
+     */
+    void finish() throws IOException {
+        if (written < total) {
+            if (written > 0) chunk.append(", ");
+            chunk.append("... and ").append(total - written).append(" more");
+        }
+        chunk.append(']');
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (chunk != out) {
+            out.append(chunk);
+            chunk.setLength(0);
+        }
+    }
+}
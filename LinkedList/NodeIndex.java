@@ -0,0 +1,134 @@
+package LinkedList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A hash index from key to the node(s) holding that key, kept in list order.
+ * Used by LinkedList and DoublyLinkedList in indexed mode so membership tests and
+ * first-occurrence lookups avoid a linear scan.
+ * A key held by a single node maps straight to that node; duplicates share an ArrayList
+ * whose element 0 is always the first occurrence in the list.
+ * Null keys are supported, matching the null-safe comparisons in the lists.
+ *
+ * @param <T> the type of keys
+ * @param <N> the node type (Link or DoublyLink)
+ */
+class NodeIndex<T, N> {
+    private final HashMap<T, Object> buckets = new HashMap<>();
+
+    /**
+     * Checks whether any node holds the key.
+     * Time Complexity: O(1) expected
+     */
+    boolean contains(T key) {
+        return buckets.containsKey(key);
+    }
+
+    /**
+     * Returns the node holding the first occurrence of the key, or null if absent.
+     * Time Complexity: O(1) expected
+     */
+    @SuppressWarnings("unchecked")
+    N first(T key) {
+        Object bucket = buckets.get(key);
+        if (bucket instanceof ArrayList) {
+            return ((ArrayList<N>) bucket).get(0);
+        }
+        return (N) bucket;
+    }
+
+    /**
+     * Records a node that precedes every other node with the same key.
+     * Time Complexity: O(1) expected, O(d) with d duplicates of the key
+     */
+    void addFirst(T key, N node) {
+        add(key, 0, node);
+    }
+
+    /**
+     * Records a node that follows every other node with the same key.
+     * Time Complexity: O(1) expected
+     */
+    void addLast(T key, N node) {
+        add(key, Integer.MAX_VALUE, node);
+    }
+
+    /**
+     * Records a node preceded by exactly {@code ordinal} nodes with the same key.
+     * An ordinal past the end appends.
+     * Time Complexity: O(1) expected, O(d) with d duplicates of the key
+     */
+    @SuppressWarnings("unchecked")
+    void add(T key, int ordinal, N node) {
+        Object bucket = buckets.get(key);
+        if (bucket == null) {
+            buckets.put(key, node);
+            return;
+        }
+        ArrayList<N> nodes;
+        if (bucket instanceof ArrayList) {
+            nodes = (ArrayList<N>) bucket;
+        } else {
+            nodes = new ArrayList<>(2);
+            nodes.add((N) bucket);
+            buckets.put(key, nodes);
+        }
+        nodes.add(Math.min(ordinal, nodes.size()), node);
+    }
+
+    /**
+     * Forgets the first node holding the key.
+     * Time Complexity: O(1) expected, O(d) with d duplicates of the key
+     */
+    void removeFirst(T key) {
+        remove(key, 0);
+    }
+
+    /**
+     * Forgets the last node holding the key.
+     * Time Complexity: O(1) expected
+     */
+    void removeLast(T key) {
+        remove(key, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Forgets the node preceded by exactly {@code ordinal} nodes with the same key.
+     * An ordinal past the end removes the last one.
+     * Time Complexity: O(1) expected, O(d) with d duplicates of the key
+     */
+    @SuppressWarnings("unchecked")
+    void remove(T key, int ordinal) {
+        Object bucket = buckets.get(key);
+        if (!(bucket instanceof ArrayList)) {
+            buckets.remove(key);
+            return;
+        }
+        ArrayList<N> nodes = (ArrayList<N>) bucket;
+        nodes.remove(Math.min(ordinal, nodes.size() - 1));
+        if (nodes.size() == 1) {
+            buckets.put(key, nodes.get(0));
+        }
+    }
+
+    /**
+     * Swaps the recorded node for a key without changing its position among duplicates.
+     * Time Complexity: O(1) expected, O(d) with d duplicates of the key
+     */
+    @SuppressWarnings("unchecked")
+    void replace(T key, N oldNode, N newNode) {
+        Object bucket = buckets.get(key);
+        if (bucket instanceof ArrayList) {
+            ArrayList<N> nodes = (ArrayList<N>) bucket;
+            for (int i = 0; i < nodes.size(); i++) {
+                if (nodes.get(i) == oldNode) {
+                    nodes.set(i, newNode);
+                    return;
+                }
+            }
+        } else if (bucket == oldNode) {
+            buckets.put(key, newNode);
+        }
+    }
+}
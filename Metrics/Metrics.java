@@ -0,0 +1,115 @@
+package Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in operation metrics for the array and list classes.
+ * Start the JVM with -Ddatastructures.metrics=true to turn them on. ENABLED is a static final
+ * constant, so when it is false the JIT folds every "if (Metrics.ENABLED)" block, including
+ * its timer reads and work counters, out of the compiled code and the hot paths are unchanged.
+ * When enabled, each operation is counted and timed into its OperationStats, which is
+ * registered as a JMX MXBean and forwarded to any registered OperationListener.
+ */
+public final class Metrics {
+    /** Whether instrumentation is on; fixed for the life of the JVM. */
+    public static final boolean ENABLED = Boolean.getBoolean("datastructures.metrics");
+
+    /** JMX domain of the registered MXBeans. */
+    public static final String JMX_DOMAIN = "datastructures";
+
+    private static final Map<String, OperationStats> OPERATIONS = new ConcurrentHashMap<>();
+    private static final List<OperationListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final System.Logger LOGGER = System.getLogger(Metrics.class.getName());
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the shared stats for an operation, creating and registering them with the
+     * platform MBean server on first use. Structures call this once, from a static field.
+     * When metrics are disabled every operation gets the same no-op stats, so no histograms
+     * are allocated and nothing is registered.
+     *
+     * @param structure the class name, e.g. "OrderedArray"
+     * @param operation the method name, e.g. "insert"
+     * @return the stats for that operation
+     */
+    public static OperationStats operation(String structure, String operation) {
+        if (!ENABLED) {
+            return OperationStats.DISABLED;
+        }
+        return OPERATIONS.computeIfAbsent(structure + '.' + operation, key -> {
+            OperationStats stats = new OperationStats(structure, operation);
+            register(stats);
+            return stats;
+        });
+    }
+
+    /**
+     * Returns the stats of every operation registered so far.
+     *
+     * @return a snapshot list, in no particular order; empty when metrics are disabled
+     */
+    public static List<OperationStats> operations() {
+        return new ArrayList<>(OPERATIONS.values());
+    }
+
+    /**
+     * Adds a listener for every operation recorded from now on.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(OperationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     * @return true if it was registered
+     */
+    public static boolean removeListener(OperationListener listener) {
+        return LISTENERS.remove(listener);
+    }
+
+    /** Clears the counters and histograms of every operation. */
+    public static void resetAll() {
+        for (OperationStats stats : OPERATIONS.values()) {
+            stats.reset();
+        }
+    }
+
+    static void notifyListeners(String structure, String operation, long nanos, long work) {
+        for (OperationListener listener : LISTENERS) {
+            listener.operationCompleted(structure, operation, nanos, work);
+        }
+    }
+
+    // Registration failures (e.g. a name clash in another class loader) only lose the JMX view;
+    // they are reported through the platform logger, which the application configures
+    private static void register(OperationStats stats) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=" + stats.getStructure()
+                    + ",name=" + stats.getOperation());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(stats, name);
+            }
+        } catch (JMException | SecurityException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not register metrics MBean for "
+                    + stats.getStructure() + "." + stats.getOperation(), e);
+        }
+    }
+}
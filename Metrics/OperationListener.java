@@ -0,0 +1,16 @@
+package Metrics;
+
+/**
+ * Receives every instrumented operation while metrics are enabled.
+ * Called synchronously on the thread that ran the operation, so implementations should be
+ * quick and must not call back into the structure that reported the operation.
+ */
+public interface OperationListener {
+    /**
+     * @param structure the class that ran the operation, e.g. "OrderedArray"
+     * @param operation the method, e.g. "insert"
+     * @param nanos     the operation's latency in nanoseconds
+     * @param work      elements shifted, scanned or traversed by the operation
+     */
+    void operationCompleted(String structure, String operation, long nanos, long work);
+}
@@ -0,0 +1,125 @@
+package Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one operation of one structure, shared by all of its instances:
+ * an invocation count, a latency histogram and a work histogram (elements shifted,
+ * scanned or traversed). Obtained from Metrics.operation() and recorded into by the
+ * structure only when Metrics.ENABLED is true.
+ */
+public final class OperationStats implements OperationStatsMXBean {
+    /** Returned for every operation while Metrics.ENABLED is false; records nothing. */
+    static final OperationStats DISABLED = new OperationStats("disabled", "disabled");
+
+    private final String structure;
+    private final String operation;
+    private final LongAdder count = new LongAdder();
+    private final Histogram latency = new Histogram();
+    private final Histogram work = new Histogram();
+
+    OperationStats(String structure, String operation) {
+        this.structure = structure;
+        this.operation = operation;
+    }
+
+    /**
+     * Records a completed operation and notifies the listeners.
+     * Time Complexity: O(1) plus the listeners
+     *
+     * @param startNanos the System.nanoTime() taken when the operation started
+     * @param work       elements shifted, scanned or traversed
+     */
+    public void record(long startNanos, long work) {
+        if (this == DISABLED) return;
+        long nanos = System.nanoTime() - startNanos;
+        count.increment();
+        latency.record(nanos);
+        this.work.record(work);
+        Metrics.notifyListeners(structure, operation, nanos, work);
+    }
+
+    /** @return the latency histogram, in nanoseconds */
+    public Histogram latency() {
+        return latency;
+    }
+
+    /** @return the work histogram */
+    public Histogram work() {
+        return work;
+    }
+
+    @Override
+    public String getStructure() {
+        return structure;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanLatencyNanos() {
+        return latency.mean();
+    }
+
+    @Override
+    public long getLatencyNanosP50() {
+        return latency.percentile(50);
+    }
+
+    @Override
+    public long getLatencyNanosP99() {
+        return latency.percentile(99);
+    }
+
+    @Override
+    public long getLatencyNanosP999() {
+        return latency.percentile(99.9);
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+        return latency.max();
+    }
+
+    @Override
+    public double getMeanWork() {
+        return work.mean();
+    }
+
+    @Override
+    public long getWorkP50() {
+        return work.percentile(50);
+    }
+
+    @Override
+    public long getWorkP99() {
+        return work.percentile(99);
+    }
+
+    @Override
+    public long getMaxWork() {
+        return work.max();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+        latency.reset();
+        work.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s.%s count=%d latency(ns) p50=%d p99=%d max=%d work mean=%.1f p99=%d max=%d",
+                structure, operation, getCount(), getLatencyNanosP50(), getLatencyNanosP99(),
+                getMaxLatencyNanos(), getMeanWork(), getWorkP99(), getMaxWork());
+    }
+}
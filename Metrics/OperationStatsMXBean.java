@@ -0,0 +1,35 @@
+package Metrics;
+
+/**
+ * JMX view of one instrumented operation, registered as
+ * datastructures:type=&lt;structure&gt;,name=&lt;operation&gt; when metrics are enabled.
+ * Latencies are in nanoseconds; work is the number of elements shifted, scanned or traversed.
+ */
+public interface OperationStatsMXBean {
+    String getStructure();
+
+    String getOperation();
+
+    long getCount();
+
+    double getMeanLatencyNanos();
+
+    long getLatencyNanosP50();
+
+    long getLatencyNanosP99();
+
+    long getLatencyNanosP999();
+
+    long getMaxLatencyNanos();
+
+    double getMeanWork();
+
+    long getWorkP50();
+
+    long getWorkP99();
+
+    long getMaxWork();
+
+    /** Clears the counters and histograms. */
+    void reset();
+}
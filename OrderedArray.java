@@ -1,5 +1,16 @@
+import Metrics.Metrics;
+import Metrics.OperationStats;
+
 public class OrderedArray {
-    private Integer[] arr;
+    // Operation metrics; only recorded when Metrics.ENABLED, otherwise compiled away.
+    // Work is elements shifted for insert/delete and probes for find
+    private static final OperationStats INSERT_STATS = Metrics.operation("OrderedArray", "insert");
+    private static final OperationStats DELETE_STATS = Metrics.operation("OrderedArray", "delete");
+    private static final OperationStats FIND_STATS = Metrics.operation("OrderedArray", "find");
+
+    private Integer[] arr;     // Storage; null in bitmap mode
+    private IntBitmapSet bitmap; // Storage in bitmap mode; null otherwise
+    private int capacity;        // Capacity in bitmap mode
 
     // Constructor
     public OrderedArray(int size) {
@@ -9,6 +20,15 @@ public class OrderedArray {
     // Insertion method
     // Time complexity: O(n)
     public void insert(int x) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            if (bitmap.count() == capacity && !bitmap.contains(x)) {
+                throw new ArrayIndexOutOfBoundsException("Array is full. Cannot insert new element.");
+            }
+            bitmap.insert(x);
+            if (Metrics.ENABLED) INSERT_STATS.record(start, 0);
+            return;
+        }
         int i;
         for (i = 0; i < arr.length; i++) {
             if (arr[i] == null || arr[i] > x)
@@ -23,13 +43,21 @@ public class OrderedArray {
             arr[j] = arr[j - 1];
         }
         arr[i] = x;
+        if (Metrics.ENABLED) INSERT_STATS.record(start, arr.length - 1 - i);
     }
 
     // Deletion method
     // Time complexity: O(n)
     public boolean delete(int x) {
-        int index = find(x);
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            boolean deleted = bitmap.delete(x);
+            if (Metrics.ENABLED) DELETE_STATS.record(start, 0);
+            return deleted;
+        }
+        int index = search(x, null);
         if (index == -1) {
+            if (Metrics.ENABLED) DELETE_STATS.record(start, 0);
             return false;
         }
 
@@ -38,36 +66,63 @@ public class OrderedArray {
             arr[i] = arr[i + 1];
         }
         arr[arr.length - 1] = null; // Clear the last element
+        if (Metrics.ENABLED) DELETE_STATS.record(start, arr.length - 1 - index);
         return true;
     }
 
     // Find method
-    // Time complexity: O(log n)
+    // Time complexity: O(log n); O(c + 1024) in bitmap mode, for c chunks of 65536 values
     public int find(int x) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            int rank = bitmap.find(x);
+            if (Metrics.ENABLED) FIND_STATS.record(start, 1);
+            return rank;
+        }
+        int[] probes = Metrics.ENABLED ? new int[1] : null;
+        int index = search(x, probes);
+        if (Metrics.ENABLED) FIND_STATS.record(start, probes[0]);
+        return index;
+    }
+
+    // Unrecorded binary search behind find and delete, so a delete is not also recorded as a
+    // find; adds the probes made to probes[0] unless probes is null
+    private int search(int x, int[] probes) {
+        int made = 0;
         int left = 0;
         int right = arr.length - 1;
+        int found = -1;
 
         while (left <= right) {
             int mid = (left + right) / 2;
+            made++;
             if (arr[mid] == null) {
                 right = mid - 1; // Adjust right if mid is null
             } else if (arr[mid] == x) {
-                return mid;
+                found = mid;
+                break;
             } else if (arr[mid] < x) {
                 left = mid + 1;
             } else {
                 right = mid - 1;
             }
         }
-        return -1;
+        if (probes != null) probes[0] += made;
+        return found;
     }
 
     // Get method
-    // Time complexity: O(1)
+    // Time complexity: O(1); O(c + 1024) in bitmap mode
     public int get(int index) {
-        if (index < 0 || index >= arr.length) {
+        if (index < 0 || index >= size()) {
             throw new ArrayIndexOutOfBoundsException("Index out of bounds.");
         }
+        if (bitmap != null) {
+            if (index >= bitmap.count()) {
+                throw new NullPointerException("No element at the specified index.");
+            }
+            return bitmap.get(index);
+        }
         if (arr[index] == null) {
             throw new NullPointerException("No element at the specified index.");
         }
@@ -77,15 +132,150 @@ public class OrderedArray {
     // Size method
     // Time complexity: O(1)
     public int size() {
-        return arr.length;
+        return bitmap != null ? capacity : arr.length;
+    }
+
+    // Count method
+    // The elements are packed at the front, so the first empty slot is found by binary search
+    // Time complexity: O(log n); O(1) in bitmap mode
+    public int count() {
+        if (bitmap != null) return bitmap.count();
+        int left = 0;
+        int right = arr.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (arr[mid] == null) {
+                right = mid;
+            } else {
+                left = mid + 1;
+            }
+        }
+        return left;
+    }
+
+    // Bitmap mode method
+    // Moves the elements into an IntBitmapSet: far less memory than an Integer[] for dense
+    // values, O(1) count() and word-parallel and(), or() and andNot(). The elements stay at
+    // the front in ascending order, so find() and get() keep their meaning.
+    // The array then holds each value once: inserting a value already present has no effect.
+    // The mode is opt-in rather than switched on by density: the switch would silently merge
+    // duplicates, which these arrays otherwise keep.
+    // Throws IllegalStateException if the array holds a value twice
+    // Time complexity: O(n log n)
+    public void enableBitmapMode() {
+        if (bitmap != null) return;
+        int count = count();
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = arr[i];
+        }
+        try {
+            bitmap = IntBitmapSet.ofDistinct(values, count);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Array holds duplicates; bitmap mode holds each value once.", e);
+        }
+        capacity = arr.length;
+        arr = null;
+    }
+
+    // Returns to Integer[] storage
+    // Time complexity: O(n)
+    public void disableBitmapMode() {
+        if (bitmap == null) return;
+        int[] values = bitmap.toArray();
+        arr = new Integer[capacity];
+        for (int i = 0; i < values.length; i++) {
+            arr[i] = values[i];
+        }
+        bitmap = null;
+    }
+
+    public boolean isBitmapMode() {
+        return bitmap != null;
+    }
+
+    // Intersection method
+    // Returns a new array in bitmap mode holding the values of both, sized to this array's
+    // capacity. An operand outside bitmap mode is converted first, duplicates collapsing
+    // Time complexity: O(c + 1024) per chunk, plus O(n log n) per converted operand
+    public OrderedArray and(OrderedArray other) {
+        return withBitmap(bits().and(other.bits()));
+    }
+
+    // Union method
+    // As and(), sized to this array's capacity or to the union, whichever is larger
+    public OrderedArray or(OrderedArray other) {
+        return withBitmap(bits().or(other.bits()));
+    }
+
+    // Difference method
+    // As and(), holding the values of this array that are not in other
+    public OrderedArray andNot(OrderedArray other) {
+        return withBitmap(bits().andNot(other.bits()));
+    }
+
+    // Bulk load method
+    // Replaces the contents with the first count values, which must already be in ascending order
+    // Time complexity: O(n)
+    public void bulkLoad(int[] sorted, int count) {
+        if (count < 0 || count > sorted.length) {
+            throw new IllegalArgumentException("Count must be between 0 and the number of values.");
+        }
+        if (count > size()) {
+            throw new ArrayIndexOutOfBoundsException("Array is too small for " + count + " elements.");
+        }
+        for (int i = 1; i < count; i++) {
+            if (sorted[i - 1] > sorted[i]) {
+                throw new IllegalArgumentException("Values are not in ascending order at index " + i + ".");
+            }
+        }
+        if (bitmap != null) {
+            bitmap = IntBitmapSet.ofDistinct(sorted, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            arr[i] = sorted[i];
+        }
+        for (int i = count; i < arr.length; i++) {
+            arr[i] = null;
+        }
+    }
+
+    // Raw slot access for codecs in this package; null for an empty slot
+    Integer slot(int index) {
+        if (bitmap != null) return index < bitmap.count() ? bitmap.get(index) : null;
+        return arr[index];
+    }
+
+    // The storage in bitmap mode, null otherwise, for bulk readers in this package
+    IntBitmapSet bitmap() {
+        return bitmap;
     }
 
     // Resize method
+    // Shrinking below the count drops the largest elements, in bitmap mode too
     public void resize(int newSize) {
+        if (bitmap != null) {
+            bitmap.truncate(newSize);
+            capacity = newSize;
+            return;
+        }
         Integer[] newArr = new Integer[newSize];
         for (int i = 0; i < Math.min(arr.length, newSize); i++) {
             newArr[i] = arr[i];
         }
         arr = newArr;
     }
+
+    private IntBitmapSet bits() {
+        return bitmap != null ? bitmap : IntBitmapSet.from(this);
+    }
+
+    private OrderedArray withBitmap(IntBitmapSet set) {
+        OrderedArray result = new OrderedArray(0);
+        result.arr = null;
+        result.bitmap = set;
+        result.capacity = Math.max(size(), set.count());
+        return result;
+    }
 }
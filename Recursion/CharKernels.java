@@ -0,0 +1,137 @@
+package Recursion;
+
+/**
+ * Recursive character kernels over any CharSequence, used by RecursiveSolution.
+ * Each kernel splits [from, to) in half until a range is at most LEAF_SIZE characters long, so
+ * recursion depth is O(log n) and no substring is ever copied. The recursion runs on a
+ * Trampoline like the rest of RecursiveSolution, which costs a few objects per 4096-character
+ * leaf. Leaves compare four characters at a time by SWAR (SIMD within a register) on a long.
+ * <p>
+ * Strings take the same recursive path as any other CharSequence, so the recursive and
+ * iterative solutions stay distinct implementations. CharKernelBenchmark in the benchmarks
+ * module measures how far the kernels trail the String.indexOf intrinsic.
+ */
+final class CharKernels {
+    /** Largest range scanned directly instead of being split. */
+    private static final int LEAF_SIZE = 4096;
+
+    private static final long LANES = 0x0001000100010001L;    // 1 in every 16-bit lane
+    private static final long LOW_BITS = 0x7FFF7FFF7FFF7FFFL; // All but the top bit of every lane
+
+    private CharKernels() {
+    }
+
+    /**
+     * Finds the first index of c in seq[from, to), or -1
+     * Time Complexity: O(n), recursion depth O(log n)
+     */
+    static int indexOf(CharSequence seq, char c, int from, int to) {
+        return search(seq, c, from, to).run();
+    }
+
+    private static Trampoline<Integer> search(CharSequence seq, char c, int from, int to) {
+        // Base case
+        if (to - from <= LEAF_SIZE) {
+            return Trampoline.done(scanIndexOf(seq, c, from, to));
+        }
+        // Recursive case: the right half is only searched if the left half has no match
+        int mid = (from + to) >>> 1;
+        return Trampoline.more(() -> search(seq, c, from, mid))
+                .flatMap(left -> left != -1 ? Trampoline.done(left) : search(seq, c, mid, to));
+    }
+
+    /**
+     * Counts occurrences of c in seq[from, to)
+     * Time Complexity: O(n), recursion depth O(log n)
+     */
+    static int count(CharSequence seq, char c, int from, int to) {
+        return tally(seq, c, from, to).run();
+    }
+
+    private static Trampoline<Integer> tally(CharSequence seq, char c, int from, int to) {
+        // Base case
+        if (to - from <= LEAF_SIZE) {
+            return Trampoline.done(scanCount(seq, c, from, to));
+        }
+        // Recursive case
+        int mid = (from + to) >>> 1;
+        return Trampoline.more(() -> tally(seq, c, from, mid))
+                .flatMap(left -> tally(seq, c, mid, to).map(right -> left + right));
+    }
+
+    /**
+     * Reverses seq, either char by char or by code point; by code point, surrogate pairs keep
+     * their order and stay valid
+     * Time Complexity: O(n), recursion depth O(log n), one char[] allocated
+     */
+    static String reverse(CharSequence seq, boolean byCodePoint) {
+        char[] out = new char[seq.length()];
+        return new String(reverse(seq, 0, seq.length(), out, byCodePoint).run());
+    }
+
+    /**
+     * Writes the characters of seq[from, to) to their mirrored positions in out
+     */
+    private static Trampoline<char[]> reverse(CharSequence seq, int from, int to, char[] out, boolean byCodePoint) {
+        int n = seq.length();
+        // Base case
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                char ch = seq.charAt(i);
+                if (byCodePoint && Character.isHighSurrogate(ch) && i + 1 < to && Character.isLowSurrogate(seq.charAt(i + 1))) {
+                    out[n - 2 - i] = ch;
+                    out[n - 1 - i] = seq.charAt(++i);
+                } else {
+                    out[n - 1 - i] = ch;
+                }
+            }
+            return Trampoline.done(out);
+        }
+        // Recursive case; never split between the two halves of a surrogate pair
+        int mid = (from + to) >>> 1;
+        if (byCodePoint && Character.isHighSurrogate(seq.charAt(mid - 1)) && Character.isLowSurrogate(seq.charAt(mid))) {
+            mid++;
+        }
+        int split = mid;
+        return Trampoline.more(() -> reverse(seq, from, split, out, byCodePoint))
+                .flatMap(done -> reverse(seq, split, to, out, byCodePoint));
+    }
+
+    private static int scanIndexOf(CharSequence seq, char c, int from, int to) {
+        long pattern = c * LANES;
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            long matches = matchLanes(pack(seq, i) ^ pattern);
+            if (matches != 0) {
+                return i + (Long.numberOfTrailingZeros(matches) >>> 4);
+            }
+        }
+        for (; i < to; i++) {
+            if (seq.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private static int scanCount(CharSequence seq, char c, int from, int to) {
+        int total = 0;
+        long pattern = c * LANES;
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            total += Long.bitCount(matchLanes(pack(seq, i) ^ pattern));
+        }
+        for (; i < to; i++) {
+            if (seq.charAt(i) == c) total++;
+        }
+        return total;
+    }
+
+    // Four consecutive characters, the first in the lowest lane
+    private static long pack(CharSequence seq, int i) {
+        return seq.charAt(i) | (long) seq.charAt(i + 1) << 16 | (long) seq.charAt(i + 2) << 32 | (long) seq.charAt(i + 3) << 48;
+    }
+
+    // Sets the top bit of exactly those 16-bit lanes of x that are zero
+    private static long matchLanes(long x) {
+        return ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+    }
+}
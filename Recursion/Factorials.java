@@ -0,0 +1,221 @@
+package Recursion;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact factorials for both solution classes, by the prime-swing method, plus the
+ * closed-form triangular numbers they share.
+ * n! = ((n/2)!)^2 * swing(n), where the swing factor n! / ((n/2)!)^2 is a product of prime
+ * powers read straight off a sieve. The prime powers are multiplied by a balanced binary
+ * product tree, so the big multiplications happen between numbers of similar size, where
+ * BigInteger's Karatsuba and Toom-Cook algorithms pay off; subtrees above a size threshold are
+ * multiplied in parallel on the common ForkJoinPool.
+ */
+final class Factorials {
+    /** 0! through 20!; 21! exceeds Long.MAX_VALUE. */
+    private static final long[] SMALL = new long[21];
+
+    /** Factors multiplied sequentially inside one product-tree leaf. */
+    private static final int LEAF_FACTORS = 32;
+
+    /** Subtrees with at least this many factors are split into parallel tasks. */
+    private static final int PARALLEL_FACTORS = 1024;
+
+    static {
+        SMALL[0] = 1;
+        for (int i = 1; i < SMALL.length; i++) {
+            SMALL[i] = SMALL[i - 1] * i;
+        }
+    }
+
+    private Factorials() {
+    }
+
+    /**
+     * Returns n(n+1)/2 as a long
+     * Time Complexity: O(1)
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    static long triLong(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        // Halve whichever of n and n + 1 is even first, so the product is exact
+        long next = Math.addExact(n, 1);
+        return (n & 1) == 0 ? Math.multiplyExact(n / 2, next) : Math.multiplyExact(n, next / 2);
+    }
+
+    /**
+     * Returns n(n+1)/2 exactly
+     * Time Complexity: O(1)
+     * @throws IllegalArgumentException if n is negative
+     */
+    static BigInteger triBig(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        BigInteger value = BigInteger.valueOf(n);
+        return value.multiply(value.add(BigInteger.ONE)).shiftRight(1);
+    }
+
+    /**
+     * Returns n! as a long
+     * Time Complexity: O(1)
+     * @throws IllegalArgumentException if n is negative or greater than 20
+     */
+    static long factLong(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        if (n >= SMALL.length) {
+            throw new IllegalArgumentException("Input too large, would cause long overflow. Maximum supported value is 20");
+        }
+        return SMALL[n];
+    }
+
+    /**
+     * Returns n! exactly
+     * Time Complexity: O(M(n log n) log n) for M(k) the cost of multiplying k-bit numbers
+     * @throws IllegalArgumentException if n is negative
+     */
+    static BigInteger factBig(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        if (n < SMALL.length) {
+            return BigInteger.valueOf(SMALL[n]);
+        }
+        boolean[] composite = sieve(n);
+        return factBig(n, composite);
+    }
+
+    // n! = ((n/2)!)^2 * swing(n); composite covers at least [0, n]
+    private static BigInteger factBig(int n, boolean[] composite) {
+        // Base case
+        if (n < SMALL.length) {
+            return BigInteger.valueOf(SMALL[n]);
+        }
+        // Recursive case
+        BigInteger half = factBig(n >>> 1, composite);
+        return half.multiply(half).multiply(swing(n, composite));
+    }
+
+    /**
+     * Returns swing(n) = n! / ((n/2)!)^2, whose exponent of a prime p is the number of odd
+     * values among n/p, n/p^2, n/p^3, ...
+     */
+    private static BigInteger swing(int n, boolean[] composite) {
+        long[] factors = new long[Math.max(16, n / 4)];
+        int count = 0;
+        int root = (int) Math.sqrt(n);
+        for (int p = 2; p <= n; p++) {
+            if (composite[p]) continue;
+            long power = 1;
+            if (p <= root) {
+                // Small primes can appear more than once
+                for (int q = n / p; q > 0; q /= p) {
+                    if ((q & 1) == 1) power *= p;
+                }
+            } else if (((n / p) & 1) == 1) {
+                // Larger primes appear at most once: exactly when n / p is odd
+                power = p;
+            }
+            if (power > 1) {
+                if (count == factors.length) {
+                    factors = Arrays.copyOf(factors, count * 2);
+                }
+                factors[count++] = power;
+            }
+        }
+        return product(factors, 0, count);
+    }
+
+    /**
+     * Multiplies factors[from, to) by a balanced product tree, in parallel for large ranges
+     * Time Complexity: O(M(b) log k) for k factors whose product has b bits
+     */
+    static BigInteger product(long[] factors, int from, int to) {
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return product(factors, from, to, ForkJoinPool.commonPool());
+        }
+        return sequentialProduct(factors, from, to);
+    }
+
+    /**
+     * Multiplies factors[from, to) like product, splitting large ranges into tasks on pool
+     */
+    static BigInteger product(long[] factors, int from, int to, ForkJoinPool pool) {
+        if (to - from >= PARALLEL_FACTORS) {
+            return pool.invoke(new ProductTask(factors, from, to));
+        }
+        return sequentialProduct(factors, from, to);
+    }
+
+    private static BigInteger sequentialProduct(long[] factors, int from, int to) {
+        // Base case
+        if (to - from <= LEAF_FACTORS) {
+            return leafProduct(factors, from, to);
+        }
+        // Recursive case
+        int mid = (from + to) >>> 1;
+        return sequentialProduct(factors, from, mid).multiply(sequentialProduct(factors, mid, to));
+    }
+
+    // Multiplies in a long while the running product fits, then folds into a BigInteger
+    private static BigInteger leafProduct(long[] factors, int from, int to) {
+        BigInteger result = BigInteger.ONE;
+        long partial = 1;
+        for (int i = from; i < to; i++) {
+            long factor = factors[i];
+            if (partial > Long.MAX_VALUE / factor) {
+                result = result.multiply(BigInteger.valueOf(partial));
+                partial = 1;
+            }
+            partial *= factor;
+        }
+        return result.multiply(BigInteger.valueOf(partial));
+    }
+
+    /** Multiplies one subtree, forking its left half while computing the right half itself. */
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] factors;
+        private final int from;
+        private final int to;
+
+        ProductTask(long[] factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from < PARALLEL_FACTORS) {
+                return sequentialProduct(factors, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, mid);
+            left.fork();
+            BigInteger right = new ProductTask(factors, mid, to).compute();
+            return left.join().multiply(right);
+        }
+    }
+
+    // Sieve of Eratosthenes: composite[i] is true for every composite i in [2, n]
+    private static boolean[] sieve(int n) {
+        boolean[] composite = new boolean[n + 1];
+        for (int i = 2; (long) i * i <= n; i++) {
+            if (composite[i]) continue;
+            for (int j = i * i; j <= n; j += i) {
+                composite[j] = true;
+            }
+        }
+        return composite;
+    }
+}
@@ -0,0 +1,265 @@
+package Recursion;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dynamic-programming engine behind countUniquePaths in both solution classes.
+ * Counts monotone (right/down) paths from the top-left to the bottom-right cell, optionally
+ * avoiding blocked cells. Only one line of counts along the shorter side of the grid is kept,
+ * so memory is O(min(n, m)) however long the grid is. Very large BigInteger grids are filled
+ * one anti-diagonal at a time, with the cells of each diagonal split across the common pool.
+ */
+final class GridPaths {
+    /** Grids with at least this many cells are counted by parallel anti-diagonal wavefronts. */
+    private static final long PARALLEL_CELLS = 1L << 20;
+
+    /** Diagonal cells handled by one fork-join task. */
+    private static final int DIAGONAL_CHUNK = 256;
+
+    private GridPaths() {
+    }
+
+    /**
+     * Counts the paths through an n x m grid without obstacles, C(n + m - 2, min(n, m) - 1)
+     * Time Complexity: O(min(n, m))
+     * @throws ArithmeticException if the count does not fit in a long
+     */
+    static long countLong(int n, int m) {
+        checkDimensions(n, m);
+        if (n == 0 || m == 0) {
+            return 0;
+        }
+        int k = Math.min(n, m) - 1;
+        long top = (long) n + m - 2 - k;
+        long result = 1;
+        // result * (top + i) / i is exact at every step; dividing out gcd(result, i) first
+        // keeps the product no larger than the next binomial coefficient
+        for (int i = 1; i <= k; i++) {
+            long g = gcd(result, i);
+            result = Math.multiplyExact(result / g, (top + i) / (i / g));
+        }
+        return result;
+    }
+
+    /**
+     * Counts the paths through an n x m grid without obstacles, exactly
+     * Time Complexity: O(min(n, m)) BigInteger multiplications
+     */
+    static BigInteger countBig(int n, int m) {
+        checkDimensions(n, m);
+        if (n == 0 || m == 0) {
+            return BigInteger.ZERO;
+        }
+        int k = Math.min(n, m) - 1;
+        long top = (long) n + m - 2 - k;
+        BigInteger numerator = BigInteger.ONE;
+        BigInteger denominator = BigInteger.ONE;
+        // Accumulate in long while it fits to keep the number of BigInteger operations down
+        long num = 1;
+        long den = 1;
+        for (int i = 1; i <= k; i++) {
+            if (num > Long.MAX_VALUE / (top + i) || den > Long.MAX_VALUE / i) {
+                numerator = numerator.multiply(BigInteger.valueOf(num));
+                denominator = denominator.multiply(BigInteger.valueOf(den));
+                num = 1;
+                den = 1;
+            }
+            num *= top + i;
+            den *= i;
+        }
+        numerator = numerator.multiply(BigInteger.valueOf(num));
+        denominator = denominator.multiply(BigInteger.valueOf(den));
+        return numerator.divide(denominator);
+    }
+
+    /**
+     * Counts the paths that avoid blocked cells; blocked[r][c] is true for an obstacle
+     * A cell cut off from the far corner can hold more paths than the corner does, so a long
+     * overflow on the way is recounted exactly rather than reported
+     * Time Complexity: O(n * m), memory O(min(n, m))
+     * @throws ArithmeticException if the count does not fit in a long
+     */
+    static long countLong(boolean[][] blocked) {
+        Grid grid = new Grid(blocked);
+        if (grid.isEmpty()) {
+            return 0;
+        }
+        long[] line = new long[grid.width];
+        line[0] = 1;
+        try {
+            for (int r = 0; r < grid.length; r++) {
+                for (int c = 0; c < grid.width; c++) {
+                    if (grid.blocked(r, c)) {
+                        line[c] = 0;
+                    } else if (c > 0) {
+                        line[c] = Math.addExact(line[c], line[c - 1]);
+                    }
+                }
+            }
+        } catch (ArithmeticException e) {
+            return countBig(blocked).longValueExact();
+        }
+        return line[grid.width - 1];
+    }
+
+    /**
+     * Counts the paths that avoid blocked cells exactly; blocked[r][c] is true for an obstacle
+     * Grids of PARALLEL_CELLS cells or more, whose shorter side spans more than one
+     * DIAGONAL_CHUNK, are filled by parallel anti-diagonal wavefronts
+     * Time Complexity: O(n * m) BigInteger additions, memory O(min(n, m)) counts
+     */
+    static BigInteger countBig(boolean[][] blocked) {
+        return countBig(blocked, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * As countBig(blocked), splitting wavefronts across the given pool when it has more than
+     * one worker
+     */
+    static BigInteger countBig(boolean[][] blocked, ForkJoinPool pool) {
+        Grid grid = new Grid(blocked);
+        if (grid.isEmpty()) {
+            return BigInteger.ZERO;
+        }
+        // A diagonal no wider than one chunk is a single task, so thin grids gain nothing
+        if ((long) grid.length * grid.width >= PARALLEL_CELLS && grid.width > DIAGONAL_CHUNK
+                && pool.getParallelism() > 1) {
+            return countWavefront(grid, pool);
+        }
+        BigInteger[] line = new BigInteger[grid.width];
+        Arrays.fill(line, BigInteger.ZERO);
+        line[0] = BigInteger.ONE;
+        for (int r = 0; r < grid.length; r++) {
+            for (int c = 0; c < grid.width; c++) {
+                if (grid.blocked(r, c)) {
+                    line[c] = BigInteger.ZERO;
+                } else if (c > 0) {
+                    line[c] = line[c].add(line[c - 1]);
+                }
+            }
+        }
+        return line[grid.width - 1];
+    }
+
+    /**
+     * Fills the grid diagonal by diagonal. Every cell on diagonal d = r + c depends only on
+     * its two neighbours on diagonal d - 1, so the cells of one diagonal are independent.
+     * Counts are indexed by column, which is at most width, so two lines of width cover it.
+     */
+    private static BigInteger countWavefront(Grid grid, ForkJoinPool pool) {
+        BigInteger[] previous = new BigInteger[grid.width];
+        BigInteger[] current = new BigInteger[grid.width];
+        Arrays.fill(previous, BigInteger.ZERO);
+        Arrays.fill(current, BigInteger.ZERO);
+        current[0] = BigInteger.ONE;
+        int diagonals = grid.length + grid.width - 1;
+        for (int d = 1; d < diagonals; d++) {
+            BigInteger[] swap = previous;
+            previous = current;
+            current = swap;
+            int from = Math.max(0, d - grid.length + 1);
+            int to = Math.min(d, grid.width - 1) + 1;
+            // Entries outside [from, to) are stale, but the next diagonal never reads them:
+            // its neighbours always fall inside this diagonal or off the grid edge
+            pool.invoke(new DiagonalTask(grid, d, from, to, previous, current));
+        }
+        return current[grid.width - 1];
+    }
+
+    /** Computes columns [from, to) of one anti-diagonal from the previous diagonal. */
+    private static final class DiagonalTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Grid grid;
+        private final int diagonal;
+        private final int from;
+        private final int to;
+        private final BigInteger[] previous;
+        private final BigInteger[] current;
+
+        DiagonalTask(Grid grid, int diagonal, int from, int to, BigInteger[] previous, BigInteger[] current) {
+            this.grid = grid;
+            this.diagonal = diagonal;
+            this.from = from;
+            this.to = to;
+            this.previous = previous;
+            this.current = current;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > DIAGONAL_CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DiagonalTask(grid, diagonal, from, mid, previous, current),
+                        new DiagonalTask(grid, diagonal, mid, to, previous, current));
+                return;
+            }
+            for (int c = from; c < to; c++) {
+                int r = diagonal - c;
+                if (grid.blocked(r, c)) {
+                    current[c] = BigInteger.ZERO;
+                    continue;
+                }
+                // From above: (r - 1, c) is previous[c], valid only when r > 0
+                BigInteger above = r > 0 ? previous[c] : BigInteger.ZERO;
+                // From the left: (r, c - 1) is previous[c - 1]
+                BigInteger left = c > 0 ? previous[c - 1] : BigInteger.ZERO;
+                current[c] = above.add(left);
+            }
+        }
+    }
+
+    /**
+     * Obstacle grid viewed so that width is the shorter side; a grid taller than it is wide
+     * is read transposed, which leaves the number of paths unchanged.
+     */
+    private static final class Grid {
+        private final boolean[][] cells;
+        private final boolean transposed;
+        private final int length;
+        private final int width;
+
+        Grid(boolean[][] cells) {
+            if (cells == null) {
+                throw new IllegalArgumentException("Grid must not be null");
+            }
+            int rows = cells.length;
+            int columns = rows == 0 ? 0 : cells[0].length;
+            for (boolean[] row : cells) {
+                if (row == null || row.length != columns) {
+                    throw new IllegalArgumentException("Grid rows must all have the same length");
+                }
+            }
+            this.cells = cells;
+            this.transposed = rows < columns;
+            this.length = transposed ? columns : rows;
+            this.width = transposed ? rows : columns;
+        }
+
+        boolean isEmpty() {
+            return width == 0 || blocked(0, 0) || blocked(length - 1, width - 1);
+        }
+
+        boolean blocked(int r, int c) {
+            return transposed ? cells[c][r] : cells[r][c];
+        }
+    }
+
+    private static void checkDimensions(int n, int m) {
+        if (n < 0 || m < 0) {
+            throw new IllegalArgumentException("Grid dimensions must be non-negative");
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -1,5 +1,7 @@
 package Recursion;
 
+import java.math.BigInteger;
+
 /**
  * This class contains iterative implementations for various problems.
  * All methods solve problems using iterative approaches with loops.
@@ -31,12 +33,29 @@ public class IterativeSolution {
             throw new IllegalArgumentException("Input too large, would cause integer overflow");
         }
         
-        // Sum of integers from 1 to n
-        int sum = 0;
-        for (int i = 1; i <= n; i++) {
-            sum += i;
-        }
-        return sum;
+        // Closed form n(n+1)/2; the product is formed in long, where it cannot overflow
+        return (int) ((long) n * (n + 1) / 2);
+    }
+    
+    /**
+     * Computes the triangular number for n as a long, using the closed form n(n+1)/2
+     * @param n non-negative integer
+     * @return sum of integers from 1 to n
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long triLong(long n) {
+        return Factorials.triLong(n);
+    }
+    
+    /**
+     * Computes the triangular number for n exactly, using the closed form n(n+1)/2
+     * @param n non-negative integer
+     * @return sum of integers from 1 to n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger triBig(long n) {
+        return Factorials.triBig(n);
     }
     
     /**
@@ -64,6 +83,39 @@ public class IterativeSolution {
         return result;
     }
     
+    /**
+     * Computes the factorial of n as a long
+     * @param n non-negative integer
+     * @return factorial of n (n!)
+     * @throws IllegalArgumentException if n is negative or would cause long overflow
+     */
+    public long factLong(int n) {
+        // 21! already exceeds Long.MAX_VALUE, so every supported value comes from a table
+        return Factorials.factLong(n);
+    }
+    
+    /**
+     * Computes the factorial of n exactly, using the prime-swing method and a parallel
+     * product tree (100000! takes well under a second)
+     * @param n non-negative integer
+     * @return factorial of n (n!)
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger factBig(int n) {
+        return Factorials.factBig(n);
+    }
+    
+    /**
+     * Computes out[i] = n[i]! for every index of n by table lookup, without allocating
+     * Large batches are split across the common ForkJoinPool
+     * @param n non-negative integers, each at most 20
+     * @param out receives the factorials; at least as long as n
+     * @throws IllegalArgumentException if an input is out of range or out is too short
+     */
+    public void factAll(int[] n, long[] out) {
+        NumericBatch.factAll(n, out);
+    }
+    
     /**
      * Computes the nth Fibonacci number
      * @param n non-negative integer
@@ -105,6 +157,90 @@ public class IterativeSolution {
         return current;
     }
     
+    /**
+     * Computes the nth Fibonacci number as a long using fast doubling
+     * Walks the bits of n from the top, using F(2k) = F(k) * (2F(k+1) - F(k)) and
+     * F(2k+1) = F(k)^2 + F(k+1)^2, so it takes O(log n) steps instead of n
+     * @param n non-negative integer
+     * @return nth Fibonacci number (F(0)=0, F(1)=1)
+     * @throws IllegalArgumentException if n is negative or too large
+     */
+    public long fibLong(int n) {
+        // Handle edge cases
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        
+        // 93rd Fibonacci number exceeds Long.MAX_VALUE
+        if (n > 92) {
+            throw new IllegalArgumentException("Input too large, would cause long overflow. Maximum supported value is 92");
+        }
+        
+        // a = F(k), b = F(k+1), starting from k = 0
+        long a = 0;
+        long b = 1;
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            long c = a * (2 * b - a); // F(2k)
+            long d = a * a + b * b;   // F(2k+1)
+            if ((n & bit) != 0) {
+                a = d;
+                b = c + d;
+            } else {
+                a = c;
+                b = d;
+            }
+        }
+        // On the last step b = F(n+1) may wrap when n = 92, but it is not returned
+        return a;
+    }
+    
+    /**
+     * Computes the nth Fibonacci number exactly using fast doubling
+     * Each step squares numbers via x.multiply(x), which BigInteger routes to its
+     * dedicated squaring (Karatsuba / Toom-Cook for large operands)
+     * @param n non-negative integer
+     * @return nth Fibonacci number (F(0)=0, F(1)=1)
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger fibBig(int n) {
+        // Handle edge cases
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        
+        // a = F(k), b = F(k+1), starting from k = 0
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger aSquared = a.multiply(a);
+            BigInteger bSquared = b.multiply(b);
+            // F(2k) = F(k) * (2F(k+1) - F(k)) = 2F(k)F(k+1) - F(k)^2, with
+            // 2F(k)F(k+1) = (F(k) + F(k+1))^2 - F(k)^2 - F(k+1)^2, so every product is a square
+            BigInteger sum = a.add(b);
+            BigInteger c = sum.multiply(sum).subtract(aSquared).subtract(bSquared).subtract(aSquared);
+            BigInteger d = aSquared.add(bSquared);
+            if ((n & bit) != 0) {
+                a = d;
+                b = c.add(d);
+            } else {
+                a = c;
+                b = d;
+            }
+        }
+        return a;
+    }
+    
+    /**
+     * Computes out[i] = F(n[i]) for every index of n by table lookup, without allocating
+     * Large batches are split across the common ForkJoinPool
+     * @param n non-negative integers, each at most 92
+     * @param out receives the Fibonacci numbers; at least as long as n
+     * @throws IllegalArgumentException if an input is out of range or out is too short
+     */
+    public void fibAll(int[] n, long[] out) {
+        NumericBatch.fibAll(n, out);
+    }
+    
     /**
      * Reverses a string iteratively
      * @param str input string
@@ -160,18 +296,41 @@ public class IterativeSolution {
             throw new IllegalArgumentException("Inputs must be non-negative");
         }
         
-        // Handle edge cases
-        if (x1 == 0) return x2;
-        if (x2 == 0) return x1;
-        
-        // Iterative Euclidean algorithm
-        while (x2 != 0) {
-            int temp = x2;
-            x2 = x1 % x2;
-            x1 = temp;
-        }
-        
-        return x1;
+        // Iterative binary GCD (Stein's algorithm): shifts and subtractions instead of division
+        return NumericBatch.gcd(x1, x2);
+    }
+    
+    /**
+     * Computes out[i] = gcd(a[i], b[i]) for every index of a, without allocating
+     * Large batches are split across the common ForkJoinPool
+     * @param a first non-negative integers
+     * @param b second non-negative integers, same length as a
+     * @param out receives the GCDs; at least as long as a
+     * @throws IllegalArgumentException if the lengths do not match or an input is negative
+     */
+    public void gcd(int[] a, int[] b, int[] out) {
+        NumericBatch.gcd(a, b, out);
+    }
+    
+    /**
+     * Computes the greatest common divisor of all values
+     * @param values non-negative integers
+     * @return GCD of the values, or 0 for an empty array
+     * @throws IllegalArgumentException if a value is negative
+     */
+    public int gcdAll(int[] values) {
+        return NumericBatch.gcdAll(values);
+    }
+    
+    /**
+     * Computes the least common multiple of all values
+     * @param values non-negative integers
+     * @return LCM of the values, 0 if any value is 0, or 1 for an empty array
+     * @throws IllegalArgumentException if a value is negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long lcmAll(int[] values) {
+        return NumericBatch.lcmAll(values);
     }
     
     /**
@@ -215,4 +374,49 @@ public class IterativeSolution {
         
         return (int) result;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Counts unique paths in a grid as a long
+     * @param n number of rows
+     * @param m number of columns
+     * @return number of unique paths (moving only right or down)
+     * @throws IllegalArgumentException if inputs are negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long countUniquePathsLong(int n, int m) {
+        return GridPaths.countLong(n, m);
+    }
+    
+    /**
+     * Counts unique paths in a grid exactly, for grids of any size
+     * @param n number of rows
+     * @param m number of columns
+     * @return number of unique paths (moving only right or down)
+     * @throws IllegalArgumentException if inputs are negative
+     */
+    public BigInteger countUniquePathsBig(int n, int m) {
+        return GridPaths.countBig(n, m);
+    }
+    
+    /**
+     * Counts unique paths in a grid with obstacles, using O(min(n, m)) memory
+     * @param blocked rectangular grid where blocked[r][c] is true for a cell that cannot be entered
+     * @return number of unique paths (moving only right or down) that avoid every blocked cell
+     * @throws IllegalArgumentException if the grid is null or not rectangular
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long countUniquePaths(boolean[][] blocked) {
+        return GridPaths.countLong(blocked);
+    }
+    
+    /**
+     * Counts unique paths in a grid with obstacles exactly; grids of about a million cells
+     * or more, at least 257 cells across, are processed in parallel, one anti-diagonal at a time
+     * @param blocked rectangular grid where blocked[r][c] is true for a cell that cannot be entered
+     * @return number of unique paths (moving only right or down) that avoid every blocked cell
+     * @throws IllegalArgumentException if the grid is null or not rectangular
+     */
+    public BigInteger countUniquePathsBig(boolean[][] blocked) {
+        return GridPaths.countBig(blocked);
+    }
+}
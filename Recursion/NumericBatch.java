@@ -0,0 +1,192 @@
+package Recursion;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Array kernels behind the batch methods of IterativeSolution.
+ * Results go into caller-supplied arrays, so a batch allocates nothing unless it is large
+ * enough to be split across the common ForkJoinPool. Inputs are validated in full before any
+ * output is written, so a rejected batch leaves the output array untouched. gcd uses Stein's binary algorithm
+ * (shifts and subtractions instead of division); fib and fact read tables covering their whole
+ * long domain.
+ */
+final class NumericBatch {
+    /** Batches with at least this many elements are split across the common pool. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Elements handled by one fork-join task. */
+    private static final int CHUNK_SIZE = 1 << 13;
+
+    /** F(0) through F(92); F(93) exceeds Long.MAX_VALUE. */
+    private static final long[] FIB = new long[93];
+
+    /** 0! through 20!; 21! exceeds Long.MAX_VALUE. */
+    private static final long[] FACT = new long[21];
+
+    static {
+        FIB[1] = 1;
+        for (int i = 2; i < FIB.length; i++) {
+            FIB[i] = FIB[i - 1] + FIB[i - 2];
+        }
+        for (int i = 0; i < FACT.length; i++) {
+            FACT[i] = Factorials.factLong(i);
+        }
+    }
+
+    private NumericBatch() {
+    }
+
+    /**
+     * Computes the GCD of two non-negative ints by Stein's algorithm
+     * Time Complexity: O(log(max(a, b)))
+     */
+    static int gcd(int a, int b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        int aZeros = Integer.numberOfTrailingZeros(a);
+        int shift = Math.min(aZeros, Integer.numberOfTrailingZeros(b));
+        b >>>= Integer.numberOfTrailingZeros(b);
+        // b stays odd; min and abs compile to conditional moves, so the loop has no
+        // data-dependent branch for the CPU to mispredict
+        while (a != 0) {
+            a >>>= aZeros;
+            int diff = b - a;
+            aZeros = Integer.numberOfTrailingZeros(diff);
+            b = Math.min(a, b);
+            a = Math.abs(diff);
+        }
+        return b << shift;
+    }
+
+    /**
+     * out[i] = gcd(a[i], b[i]) for i in [0, a.length)
+     * Time Complexity: O(n log(max))
+     */
+    static void gcd(int[] a, int[] b, int[] out) {
+        if (a.length != b.length || out.length < a.length) {
+            throw new IllegalArgumentException("Input arrays must have the same length and fit in the output array");
+        }
+        requireNonNegative(a);
+        requireNonNegative(b);
+        forEachRange(a.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = gcd(a[i], b[i]);
+            }
+        });
+    }
+
+    /**
+     * GCD of every value; 0 for an empty array. Stops early once the running GCD is 1
+     * Time Complexity: O(n log(max))
+     */
+    static int gcdAll(int[] values) {
+        requireNonNegative(values);
+        int result = 0;
+        for (int i = 0; i < values.length && result != 1; i++) {
+            result = gcd(result, values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * LCM of every value; 1 for an empty array and 0 if any value is 0
+     * Time Complexity: O(n log(max))
+     */
+    static long lcmAll(int[] values) {
+        requireNonNegative(values);
+        // A 0 anywhere makes the LCM 0, even where the values before it would overflow
+        for (int value : values) {
+            if (value == 0) {
+                return 0;
+            }
+        }
+        long result = 1;
+        for (int value : values) {
+            // result / gcd(result, value) * value, with the gcd taken against result mod value
+            long g = gcd((int) (result % value), value);
+            result = Math.multiplyExact(result, value / g);
+        }
+        return result;
+    }
+
+    /**
+     * out[i] = F(n[i]) for i in [0, n.length)
+     * Time Complexity: O(n)
+     */
+    static void fibAll(int[] n, long[] out) {
+        lookupAll(n, out, FIB, "Fibonacci", 92);
+    }
+
+    /**
+     * out[i] = n[i]! for i in [0, n.length)
+     * Time Complexity: O(n)
+     */
+    static void factAll(int[] n, long[] out) {
+        lookupAll(n, out, FACT, "Factorial", 20);
+    }
+
+    // out[i] = table[n[i]], rejecting indices outside [0, max]
+    private static void lookupAll(int[] n, long[] out, long[] table, String name, int max) {
+        if (out.length < n.length) {
+            throw new IllegalArgumentException("Output array is shorter than the input array");
+        }
+        for (int i = 0; i < n.length; i++) {
+            if (n[i] < 0 || n[i] > max) {
+                throw new IllegalArgumentException(name + " input must be between 0 and " + max + " (index " + i + ")");
+            }
+        }
+        forEachRange(n.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = table[n[i]];
+            }
+        });
+    }
+
+    // Rejects the whole batch if any value is negative, before any early exit can skip it
+    private static void requireNonNegative(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                throw new IllegalArgumentException("Inputs must be non-negative (index " + i + ")");
+            }
+        }
+    }
+
+    /** Work on the index range [from, to) of a batch. */
+    private interface RangeKernel {
+        void apply(int from, int to);
+    }
+
+    // Runs kernel over [0, length), split across the common pool for large batches
+    private static void forEachRange(int length, RangeKernel kernel) {
+        if (length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new RangeTask(kernel, 0, length));
+        } else {
+            kernel.apply(0, length);
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeKernel kernel;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeKernel kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                kernel.apply(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(kernel, from, mid), new RangeTask(kernel, mid, to));
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package Recursion;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
 /**
  * This class contains recursive implementations for various problems.
  * All methods solve problems using recursive approaches.
  */
 public class RecursiveSolution {
 
+    /** Largest total bit length of the numbers kept by the shared fibBig memo table (8 MiB). */
+    private static final long FIB_MEMO_MAX_BITS = 64L << 20;
+
+    /** Memo table for fibBig, shared by all instances. */
+    private static final FibMemo FIB_MEMO = new FibMemo(FIB_MEMO_MAX_BITS);
+
     /** 
      * In this exercise, some methods will have error handling regarding integer overflow
      * The max value for an integer in Java is 2,147,483,647 (Integer.MAX_VALUE)
@@ -28,12 +39,40 @@ public class RecursiveSolution {
             throw new IllegalArgumentException("Input too large, would cause integer overflow");
         }
         
+        return triFrom(n).run();
+    }
+    
+    /**
+     * Recursive formulation of tri, run on a heap stack so n = 65535 cannot overflow the thread stack
+     */
+    private Trampoline<Integer> triFrom(int n) {
         // Base case
         if (n <= 0) {
-            return 0;
+            return Trampoline.done(0);
         }
         // Recursive case
-        return n + tri(n - 1);
+        return Trampoline.more(() -> triFrom(n - 1)).map(sum -> n + sum);
+    }
+    
+    /**
+     * Computes the triangular number for n as a long, using the closed form n(n+1)/2
+     * @param n non-negative integer
+     * @return sum of integers from 1 to n
+     * @throws IllegalArgumentException if n is negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long triLong(long n) {
+        return Factorials.triLong(n);
+    }
+    
+    /**
+     * Computes the triangular number for n exactly, using the closed form n(n+1)/2
+     * @param n non-negative integer
+     * @return sum of integers from 1 to n
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger triBig(long n) {
+        return Factorials.triBig(n);
     }
     
     /**
@@ -61,6 +100,28 @@ public class RecursiveSolution {
         return n * fact(n - 1);
     }
     
+    /**
+     * Computes the factorial of n as a long
+     * @param n non-negative integer
+     * @return factorial of n (n!)
+     * @throws IllegalArgumentException if n is negative or would cause long overflow
+     */
+    public long factLong(int n) {
+        // 21! already exceeds Long.MAX_VALUE, so every supported value comes from a table
+        return Factorials.factLong(n);
+    }
+    
+    /**
+     * Computes the factorial of n exactly, using the prime-swing method and a parallel
+     * product tree (100000! takes well under a second)
+     * @param n non-negative integer
+     * @return factorial of n (n!)
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger factBig(int n) {
+        return Factorials.factBig(n);
+    }
+    
     /**
      * Computes the nth Fibonacci number
      * @param n non-negative integer
@@ -79,19 +140,153 @@ public class RecursiveSolution {
             throw new IllegalArgumentException("Input too large, would cause integer overflow. Maximum supported value is 46");
         }
         
-        // Base cases
-        if (n == 0) {
-            return 0;
+        // Fast doubling recursion: O(log n) calls instead of O(2^n)
+        return (int) fibPair(n)[0];
+    }
+    
+    /**
+     * Computes the nth Fibonacci number as a long using recursive fast doubling
+     * @param n non-negative integer
+     * @return nth Fibonacci number (F(0)=0, F(1)=1)
+     * @throws IllegalArgumentException if n is negative or too large
+     */
+    public long fibLong(int n) {
+        // Handle edge cases
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
         }
-        if (n == 1) {
-            return 1;
+        
+        // 93rd Fibonacci number exceeds Long.MAX_VALUE
+        if (n > 92) {
+            throw new IllegalArgumentException("Input too large, would cause long overflow. Maximum supported value is 92");
+        }
+        return fibPair(n)[0];
+    }
+    
+    /**
+     * Computes {F(k), F(k+1)} from {F(k/2), F(k/2+1)}
+     * F(2j) = F(j) * (2F(j+1) - F(j)) and F(2j+1) = F(j)^2 + F(j+1)^2
+     * F(k+1) wraps for k = 92, but only F(k) is ever returned to callers
+     */
+    private long[] fibPair(int k) {
+        // Base case
+        if (k == 0) {
+            return new long[] {0, 1};
         }
         // Recursive case
-        return fib(n - 1) + fib(n - 2);
+        long[] half = fibPair(k >>> 1);
+        long a = half[0];
+        long b = half[1];
+        long c = a * (2 * b - a);
+        long d = a * a + b * b;
+        return (k & 1) == 0 ? new long[] {c, d} : new long[] {d, c + d};
+    }
+    
+    /**
+     * Computes the nth Fibonacci number exactly using recursive fast doubling
+     * Recursion depth is log2(n); intermediate pairs are kept in a thread-safe memo table
+     * bounded to 8 MiB of numbers, so nearby calls (e.g. fibBig(n) then fibBig(n + 1)) share
+     * most of their work
+     * @param n non-negative integer
+     * @return nth Fibonacci number (F(0)=0, F(1)=1)
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger fibBig(int n) {
+        // Handle edge cases
+        if (n < 0) {
+            throw new IllegalArgumentException("Input must be non-negative");
+        }
+        return fibBigPair(n)[0];
+    }
+    
+    /**
+     * Empties the fibBig memo table shared by all instances, e.g. so that a benchmark
+     * measures a computation that starts cold
+     */
+    public static void clearFibMemo() {
+        FIB_MEMO.clear();
+    }
+    
+    /**
+     * Computes {F(k), F(k+1)} exactly, consulting the memo table for large k
+     */
+    private BigInteger[] fibBigPair(int k) {
+        // Base case: small pairs fit in a long, so skip BigInteger arithmetic and the memo
+        if (k < 92) {
+            long[] pair = fibPair(k);
+            return new BigInteger[] {BigInteger.valueOf(pair[0]), BigInteger.valueOf(pair[1])};
+        }
+        BigInteger[] memo = FIB_MEMO.get(k);
+        if (memo != null) {
+            return memo;
+        }
+        
+        // Recursive case; every product is a square, which BigInteger computes faster:
+        // 2F(j)F(j+1) = (F(j) + F(j+1))^2 - F(j)^2 - F(j+1)^2
+        BigInteger[] half = fibBigPair(k >>> 1);
+        BigInteger aSquared = half[0].multiply(half[0]);
+        BigInteger bSquared = half[1].multiply(half[1]);
+        BigInteger sum = half[0].add(half[1]);
+        BigInteger c = sum.multiply(sum).subtract(aSquared).subtract(bSquared).subtract(aSquared);
+        BigInteger d = aSquared.add(bSquared);
+        BigInteger[] result = (k & 1) == 0 ? new BigInteger[] {c, d} : new BigInteger[] {d, c.add(d)};
+        FIB_MEMO.put(k, result);
+        return result;
+    }
+    
+    /**
+     * Thread-safe memo table k -> {F(k), F(k+1)} for fibBig.
+     * Bounded by the total bitLength() of the stored numbers rather than by entry count, since
+     * one pair for large k can take megabytes; least recently used pairs are evicted first and
+     * a pair larger than the whole budget is not kept. Callers get and give copies of the
+     * pair arrays, so the stored ones can never be changed from outside.
+     */
+    static final class FibMemo {
+        private final long maxBits;
+        private final LinkedHashMap<Integer, BigInteger[]> pairs = new LinkedHashMap<>(64, 0.75f, true);
+        private long bits; // Total bit length of the stored numbers
+
+        FibMemo(long maxBits) {
+            this.maxBits = maxBits;
+        }
+
+        synchronized BigInteger[] get(int k) {
+            BigInteger[] pair = pairs.get(k);
+            return pair == null ? null : pair.clone();
+        }
+
+        synchronized void put(int k, BigInteger[] pair) {
+            long size = bitsOf(pair);
+            if (size > maxBits) {
+                return;
+            }
+            BigInteger[] old = pairs.put(k, pair.clone());
+            bits += size - (old == null ? 0 : bitsOf(old));
+            Iterator<BigInteger[]> eldest = pairs.values().iterator();
+            while (bits > maxBits) {
+                bits -= bitsOf(eldest.next());
+                eldest.remove();
+            }
+        }
+
+        synchronized void clear() {
+            pairs.clear();
+            bits = 0;
+        }
+
+        synchronized long bits() {
+            return bits;
+        }
+
+        private static long bitsOf(BigInteger[] pair) {
+            return (long) pair[0].bitLength() + pair[1].bitLength();
+        }
     }
     
     /**
-     * Reverses a string recursively
+     * Reverses a string recursively, char by char
+     * Splits the string in half down to small blocks on a Trampoline, so recursion depth is
+     * O(log n) on a heap stack and the characters are copied once
      * @param str input string
      * @return reversed string
      * @throws IllegalArgumentException if input string is null
@@ -106,33 +301,76 @@ public class RecursiveSolution {
         if (str.length() <= 1) {
             return str;
         }
-        // Recursive case
-        return reverseStr(str.substring(1)) + str.charAt(0);
+        return CharKernels.reverse(str, false);
+    }
+    
+    /**
+     * Reverses a character sequence recursively by code point, so characters outside the
+     * Basic Multilingual Plane (surrogate pairs, e.g. emoji) stay intact
+     * @param seq input character sequence
+     * @return reversed string
+     * @throws IllegalArgumentException if input is null
+     */
+    public String reverseCodePoints(CharSequence seq) {
+        // Handle edge cases
+        if (seq == null) {
+            throw new IllegalArgumentException("Input string cannot be null");
+        }
+        return CharKernels.reverse(seq, true);
     }
     
     /**
-     * Checks if a character exists in a string
+     * Checks if a character exists in a string, through indexOfChar
      * @param str input string
      * @param c character to search for
      * @return true if c exists in str, false otherwise
      * @throws IllegalArgumentException if input string is null
      */
     public boolean hasChar(String str, char c) {
+        return hasChar((CharSequence) str, c);
+    }
+    
+    /**
+     * Checks if a character exists in a character sequence, without copying it
+     * @param seq input character sequence
+     * @param c character to search for
+     * @return true if c exists in seq, false otherwise
+     * @throws IllegalArgumentException if input is null
+     */
+    public boolean hasChar(CharSequence seq, char c) {
+        return indexOfChar(seq, c) != -1;
+    }
+    
+    /**
+     * Finds the first occurrence of a character recursively, splitting the sequence in half
+     * on a Trampoline down to small blocks that are scanned four characters at a time
+     * @param seq input character sequence
+     * @param c character to search for
+     * @return index of the first c in seq, or -1 if there is none
+     * @throws IllegalArgumentException if input is null
+     */
+    public int indexOfChar(CharSequence seq, char c) {
         // Handle edge cases
-        if (str == null) {
+        if (seq == null) {
             throw new IllegalArgumentException("Input string cannot be null");
         }
-        if (str.isEmpty()) {
-            return false;
-        }
-        
-        // Base case
-        if (str.charAt(0) == c) {
-            return true;
+        return CharKernels.indexOf(seq, c, 0, seq.length());
+    }
+    
+    /**
+     * Counts occurrences of a character recursively, splitting the sequence in half
+     * on a Trampoline down to small blocks that are scanned four characters at a time
+     * @param seq input character sequence
+     * @param c character to count
+     * @return number of times c occurs in seq
+     * @throws IllegalArgumentException if input is null
+     */
+    public int countChar(CharSequence seq, char c) {
+        // Handle edge cases
+        if (seq == null) {
+            throw new IllegalArgumentException("Input string cannot be null");
         }
-        
-        // Recursive case
-        return hasChar(str.substring(1), c);
+        return CharKernels.count(seq, c, 0, seq.length());
     }
     
     /**
@@ -163,6 +401,7 @@ public class RecursiveSolution {
      * @param m number of columns
      * @return number of unique paths (moving only right or down)
      * @throws IllegalArgumentException if inputs are negative or would cause overflow
+     * @throws ArithmeticException if the result exceeds Integer.MAX_VALUE
      */
     public int countUniquePaths(int n, int m) {
         // Handle edge cases
@@ -179,12 +418,70 @@ public class RecursiveSolution {
             throw new IllegalArgumentException("Grid too large, result would exceed integer limits or cause excessive recursion depth");
         }
         
+        // Recursive case, memoized so each of the n * m subgrids is solved once
+        long result = countUniquePaths(n, m, new long[n + 1][m + 1]);
+        if (result > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Result exceeds integer maximum value");
+        }
+        return (int) result;
+    }
+    
+    /**
+     * Counts unique paths in an n x m grid, caching results in memo (0 means not yet computed)
+     */
+    private long countUniquePaths(int n, int m, long[][] memo) {
         // Base case
         if (n == 1 || m == 1) {
             return 1;
         }
-        
-        // Recursive case
-        return countUniquePaths(n - 1, m) + countUniquePaths(n, m - 1);
+        if (memo[n][m] == 0) {
+            memo[n][m] = countUniquePaths(n - 1, m, memo) + countUniquePaths(n, m - 1, memo);
+        }
+        return memo[n][m];
+    }
+    
+    /**
+     * Counts unique paths in a grid as a long
+     * @param n number of rows
+     * @param m number of columns
+     * @return number of unique paths (moving only right or down)
+     * @throws IllegalArgumentException if inputs are negative
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long countUniquePathsLong(int n, int m) {
+        return GridPaths.countLong(n, m);
+    }
+    
+    /**
+     * Counts unique paths in a grid exactly, for grids of any size
+     * @param n number of rows
+     * @param m number of columns
+     * @return number of unique paths (moving only right or down)
+     * @throws IllegalArgumentException if inputs are negative
+     */
+    public BigInteger countUniquePathsBig(int n, int m) {
+        return GridPaths.countBig(n, m);
+    }
+    
+    /**
+     * Counts unique paths in a grid with obstacles, using O(min(n, m)) memory
+     * @param blocked rectangular grid where blocked[r][c] is true for a cell that cannot be entered
+     * @return number of unique paths (moving only right or down) that avoid every blocked cell
+     * @throws IllegalArgumentException if the grid is null or not rectangular
+     * @throws ArithmeticException if the result exceeds Long.MAX_VALUE
+     */
+    public long countUniquePaths(boolean[][] blocked) {
+        return GridPaths.countLong(blocked);
+    }
+    
+    /**
+     * Counts unique paths in a grid with obstacles exactly; grids of about a million cells
+     * or more, at least 257 cells across, are processed in parallel, one anti-diagonal at a time
+     * @param blocked rectangular grid where blocked[r][c] is true for a cell that cannot be entered
+     * @return number of unique paths (moving only right or down) that avoid every blocked cell
+     * @throws IllegalArgumentException if the grid is null or not rectangular
+     */
+    public BigInteger countUniquePathsBig(boolean[][] blocked) {
+        return GridPaths.countBig(blocked);
     }
-}
\ No newline at end of file
+}
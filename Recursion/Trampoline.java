@@ -0,0 +1,109 @@
+package Recursion;
+
+import java.util.ArrayDeque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A suspended recursive computation that runs on a heap-allocated stack instead of the thread stack.
+ * A recursive method returns a Trampoline instead of calling itself directly:
+ * done(value) for a base case, more(() -> recurse(...)) for a tail call, and
+ * more(() -> recurse(...)).map(result -> ...) or flatMap(...) for work that must happen after the
+ * recursive call returns. run() then evaluates the chain in a loop, keeping pending continuations
+ * on an explicit stack, so recursion depth is bounded by heap size rather than thread stack size.
+ *
+ * @param <T> the type of the result
+ */
+public abstract class Trampoline<T> {
+
+    private Trampoline() {
+    }
+
+    /**
+     * Returns a finished computation
+     * @param value the result
+     * @return a trampoline that yields value
+     */
+    public static <T> Trampoline<T> done(T value) {
+        return new Done<>(value);
+    }
+
+    /**
+     * Returns a computation whose next step is produced lazily, typically a recursive call
+     * @param next supplies the next step
+     * @return a trampoline that continues with next.get()
+     */
+    public static <T> Trampoline<T> more(Supplier<Trampoline<T>> next) {
+        return new More<>(next);
+    }
+
+    /**
+     * Continues with another computation once this one yields its result
+     * @param continuation maps the result of this computation to the next step
+     * @return the combined computation
+     */
+    public <R> Trampoline<R> flatMap(Function<? super T, Trampoline<R>> continuation) {
+        return new FlatMap<>(this, continuation);
+    }
+
+    /**
+     * Transforms the result of this computation
+     * @param function applied to the result
+     * @return the transformed computation
+     */
+    public <R> Trampoline<R> map(Function<? super T, ? extends R> function) {
+        return flatMap(value -> done(function.apply(value)));
+    }
+
+    /**
+     * Evaluates the computation
+     * Time Complexity: O(number of steps), with O(depth) heap space for pending continuations
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    public T run() {
+        ArrayDeque<Function<Object, Trampoline<?>>> pending = new ArrayDeque<>();
+        Trampoline<?> current = this;
+        while (true) {
+            if (current instanceof FlatMap) {
+                FlatMap<?, ?> step = (FlatMap<?, ?>) current;
+                pending.push((Function<Object, Trampoline<?>>) (Function<?, ?>) step.continuation);
+                current = step.source;
+            } else if (current instanceof More) {
+                current = ((More<?>) current).next.get();
+            } else {
+                Object value = ((Done<?>) current).value;
+                if (pending.isEmpty()) {
+                    return (T) value;
+                }
+                current = pending.pop().apply(value);
+            }
+        }
+    }
+
+    private static final class Done<T> extends Trampoline<T> {
+        private final T value;
+
+        Done(T value) {
+            this.value = value;
+        }
+    }
+
+    private static final class More<T> extends Trampoline<T> {
+        private final Supplier<Trampoline<T>> next;
+
+        More(Supplier<Trampoline<T>> next) {
+            this.next = next;
+        }
+    }
+
+    private static final class FlatMap<S, T> extends Trampoline<T> {
+        private final Trampoline<S> source;
+        private final Function<? super S, Trampoline<T>> continuation;
+
+        FlatMap(Trampoline<S> source, Function<? super S, Trampoline<T>> continuation) {
+            this.source = source;
+            this.continuation = continuation;
+        }
+    }
+}
@@ -1,5 +1,35 @@
+import Filter.BlockedBloomFilter;
+import Metrics.Metrics;
+import Metrics.OperationStats;
+
 public class UnorderedArray {
-    private Integer[] arr;
+    // Operation metrics; only recorded when Metrics.ENABLED, otherwise compiled away.
+    // Work is slots scanned
+    private static final OperationStats INSERT_STATS = Metrics.operation("UnorderedArray", "insert");
+    private static final OperationStats DELETE_STATS = Metrics.operation("UnorderedArray", "delete");
+    private static final OperationStats FIND_STATS = Metrics.operation("UnorderedArray", "find");
+
+    // Slots examined per operation by incremental compaction in auto-growth mode
+    private static final int COMPACTION_BUDGET = 4;
+
+    private Integer[] arr;            // Storage; null in bitmap mode
+    private IntBitmapSet bitmap;      // Storage in bitmap mode; null otherwise
+    private int capacity;             // Capacity in bitmap mode
+    private BlockedBloomFilter bloom; // Optional fast-reject filter for find(); null when disabled
+
+    // Auto-growth mode state; elements live in [0, end) and holes are filled in gradually
+    private boolean autoGrow;
+    private int end;           // One past the last occupied slot
+    private int live;          // Number of elements
+    private int holeCursor;    // No holes below this slot
+    private int minCapacity;   // Shrinking stops here
+    private RelocationListener listener;
+
+    // Listener notified when auto-growth mode moves an element to fill a hole,
+    // so callers holding indices from find() can follow it
+    public interface RelocationListener {
+        void relocated(int value, int from, int to);
+    }
 
     // Constructor
     public UnorderedArray(int size) {
@@ -7,11 +37,33 @@ public class UnorderedArray {
     }
 
     // Insertion method
-    // Time complexity: O(1)
+    // Time complexity: O(n); O(1) amortized in auto-growth mode; O(log c + 4096) in bitmap mode
     public void insert(int x) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            if (bitmap.count() == capacity && !bitmap.contains(x)) {
+                throw new ArrayIndexOutOfBoundsException("Array is full. Cannot insert new element.");
+            }
+            bitmap.insert(x);
+            if (Metrics.ENABLED) INSERT_STATS.record(start, 1);
+            return;
+        }
+        if (autoGrow) {
+            if (end == arr.length) {
+                grow();
+            }
+            arr[end++] = x;
+            live++;
+            if (bloom != null) bloom.put(BlockedBloomFilter.hash(x));
+            compactStep();
+            if (Metrics.ENABLED) INSERT_STATS.record(start, 1);
+            return;
+        }
         for (int i = 0; i < arr.length; i++) {
             if (arr[i] == null) {
                 arr[i] = x;
+                if (bloom != null) bloom.put(BlockedBloomFilter.hash(x));
+                if (Metrics.ENABLED) INSERT_STATS.record(start, i + 1);
                 return;
             }
         }
@@ -19,34 +71,220 @@ public class UnorderedArray {
     }
 
     // Deletion method
-    // Time complexity: O(n)
+    // Time complexity: O(n); O(log c + 4096) in bitmap mode
     public boolean delete(int x) {
-        for (int i = 0; i < arr.length; i++) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            boolean deleted = bitmap.delete(x);
+            if (Metrics.ENABLED) DELETE_STATS.record(start, 1);
+            return deleted;
+        }
+        if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(x))) {
+            if (Metrics.ENABLED) DELETE_STATS.record(start, 0);
+            return false;
+        }
+        int limit = scanLimit();
+        for (int i = 0; i < limit; i++) {
             if (arr[i] != null && arr[i] == x) {
                 arr[i] = null;
+                if (bloom != null) {
+                    bloom.recordDelete();
+                    if (bloom.needsRebuild()) rebuildBloomFilter(bloom.expectedInsertions());
+                }
+                if (autoGrow) {
+                    live--;
+                    holeCursor = Math.min(holeCursor, i);
+                    trimEnd();
+                    compactStep();
+                    shrinkIfSparse();
+                }
+                if (Metrics.ENABLED) DELETE_STATS.record(start, i + 1);
                 return true;
             }
         }
+        if (Metrics.ENABLED) DELETE_STATS.record(start, limit);
         return false;
     }
 
     // Find method
-    // Time complexity: O(n)
+    // Time complexity: O(n); O(1) for most absent keys when the Bloom filter is enabled;
+    // O(c + 1024) in bitmap mode, for c chunks of 65536 values
     public int find(int x) {
-        for (int i = 0; i < arr.length; i++) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        if (bitmap != null) {
+            int rank = bitmap.find(x);
+            if (Metrics.ENABLED) FIND_STATS.record(start, 1);
+            return rank;
+        }
+        if (bloom != null && !bloom.mightContain(BlockedBloomFilter.hash(x))) {
+            if (Metrics.ENABLED) FIND_STATS.record(start, 0);
+            return -1;
+        }
+        int limit = scanLimit();
+        for (int i = 0; i < limit; i++) {
             if (arr[i] != null && arr[i] == x) {
+                if (Metrics.ENABLED) FIND_STATS.record(start, i + 1);
                 return i;
             }
         }
+        if (Metrics.ENABLED) FIND_STATS.record(start, limit);
         return -1;
     }
 
-    // Get method
+    // Contains method
+    // Time complexity: O(n); O(1) for most absent keys when the Bloom filter is enabled;
+    // O(log c + 12) in bitmap mode
+    public boolean contains(int x) {
+        if (bitmap != null) return bitmap.contains(x);
+        return find(x) != -1;
+    }
+
+    // Bloom filter method
+    // Keeps a blocked Bloom filter of the elements so find(), contains() and delete()
+    // return immediately for keys that are definitely absent.
+    // Deleted keys stay in the filter until more than rebuildThreshold of its keys are stale,
+    // at which point it is rebuilt from the array.
+    // Not available in bitmap mode, whose lookups are already cheap
+    // Time complexity: O(n)
+    public void enableBloomFilter(double falsePositiveRate, double rebuildThreshold) {
+        if (bitmap != null) {
+            throw new IllegalStateException("Bitmap mode needs no Bloom filter.");
+        }
+        bloom = new BlockedBloomFilter(arr.length, falsePositiveRate, rebuildThreshold);
+        rebuildBloomFilter(arr.length);
+    }
+
+    // Turns the Bloom filter off
+    // Time complexity: O(1)
+    public void disableBloomFilter() {
+        bloom = null;
+    }
+
+    // Returns the Bloom filter for inspecting its settings, or null when disabled
+    // Time complexity: O(1)
+    public BlockedBloomFilter bloomFilter() {
+        return bloom;
+    }
+
+    // Auto-growth method
+    // Switches to a mode where a full array doubles instead of throwing, inserts append,
+    // and every operation moves a few elements from the end into holes left by deletes.
+    // The array halves once it is a quarter full, but never below its current size.
+    // Scans then only cover [0, count()) plus the holes not yet filled.
+    // Not available in bitmap mode
+    // Time complexity: O(n) once
+    public void enableAutoGrowth() {
+        if (autoGrow) return;
+        if (bitmap != null) {
+            throw new IllegalStateException("Auto-growth mode and bitmap mode cannot be combined.");
+        }
+        autoGrow = true;
+        minCapacity = Math.max(1, arr.length);
+        live = 0;
+        holeCursor = arr.length;
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] != null) {
+                live++;
+            } else if (holeCursor == arr.length) {
+                holeCursor = i;
+            }
+        }
+        end = arr.length;
+        trimEnd();
+    }
+
+    // Returns whether auto-growth mode is on
+    // Time complexity: O(1)
+    public boolean isAutoGrowing() {
+        return autoGrow;
+    }
+
+    // Bitmap mode method
+    // Moves the elements into an IntBitmapSet: far less memory than an Integer[] for dense
+    // values, O(1) count(), fast lookups and word-parallel and(), or() and andNot().
+    // The array then holds each value once, inserting a value already present has no effect,
+    // and elements sit at the front in ascending order: find() returns the rank.
+    // Drops the Bloom filter. Not available in auto-growth mode.
+    // The mode is opt-in rather than switched on by density: the switch would silently merge
+    // duplicates, which these arrays otherwise keep.
+    // Throws IllegalStateException if the array holds a value twice
+    // Time complexity: O(n log n)
+    public void enableBitmapMode() {
+        if (bitmap != null) return;
+        if (autoGrow) {
+            throw new IllegalStateException("Auto-growth mode and bitmap mode cannot be combined.");
+        }
+        int[] values = new int[arr.length];
+        int count = 0;
+        for (Integer value : arr) {
+            if (value != null) values[count++] = value;
+        }
+        try {
+            bitmap = IntBitmapSet.ofDistinct(values, count);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Array holds duplicates; bitmap mode holds each value once.", e);
+        }
+        capacity = arr.length;
+        arr = null;
+        bloom = null;
+    }
+
+    // Returns to Integer[] storage, the elements packed at the front in ascending order
+    // Time complexity: O(n)
+    public void disableBitmapMode() {
+        if (bitmap == null) return;
+        int[] values = bitmap.toArray();
+        arr = new Integer[capacity];
+        for (int i = 0; i < values.length; i++) {
+            arr[i] = values[i];
+        }
+        bitmap = null;
+    }
+
+    // Returns whether bitmap mode is on
+    // Time complexity: O(1)
+    public boolean isBitmapMode() {
+        return bitmap != null;
+    }
+
+    // Intersection method
+    // Returns a new array in bitmap mode holding the values of both, sized to this array's
+    // capacity. An operand outside bitmap mode is converted first, duplicates collapsing
+    // Time complexity: O(c + 1024) per chunk, plus O(n log n) per converted operand
+    public UnorderedArray and(UnorderedArray other) {
+        return withBitmap(bits().and(other.bits()));
+    }
+
+    // Union method
+    // As and(), sized to this array's capacity or to the union, whichever is larger
+    public UnorderedArray or(UnorderedArray other) {
+        return withBitmap(bits().or(other.bits()));
+    }
+
+    // Difference method
+    // As and(), holding the values of this array that are not in other
+    public UnorderedArray andNot(UnorderedArray other) {
+        return withBitmap(bits().andNot(other.bits()));
+    }
+
+    // Registers the listener told about elements moved by compaction; null removes it
     // Time complexity: O(1)
+    public void setRelocationListener(RelocationListener listener) {
+        this.listener = listener;
+    }
+
+    // Get method
+    // Time complexity: O(1); O(c + 1024) in bitmap mode
     public int get(int index) {
-        if (index < 0 || index >= arr.length) {
+        if (index < 0 || index >= size()) {
             throw new ArrayIndexOutOfBoundsException("Index out of bounds.");
         }
+        if (bitmap != null) {
+            if (index >= bitmap.count()) {
+                throw new NullPointerException("No element at the specified index.");
+            }
+            return bitmap.get(index);
+        }
         if (arr[index] == null) {
             throw new NullPointerException("No element at the specified index.");
         }
@@ -56,16 +294,187 @@ public class UnorderedArray {
     // Size method
     // Time complexity: O(1)
     public int size() {
-        return arr.length;
+        return bitmap != null ? capacity : arr.length;
+    }
+
+    // Count method
+    // Number of elements stored
+    // Time complexity: O(1) in auto-growth and bitmap mode, O(n) otherwise
+    public int count() {
+        if (bitmap != null) return bitmap.count();
+        if (autoGrow) return live;
+        int n = 0;
+        for (Integer value : arr) {
+            if (value != null) n++;
+        }
+        return n;
+    }
+
+    // Bulk load method
+    // Replaces the contents with the first count values, packed at the front of the array
+    // In bitmap mode the values must be distinct
+    // Time complexity: O(n); O(n log n) in bitmap mode
+    public void bulkLoad(int[] values, int count) {
+        if (count < 0 || count > values.length) {
+            throw new IllegalArgumentException("Count must be between 0 and the number of values.");
+        }
+        if (bitmap != null) {
+            if (count > capacity) {
+                throw new ArrayIndexOutOfBoundsException("Array is too small for " + count + " elements.");
+            }
+            bitmap = IntBitmapSet.ofDistinct(values, count);
+            return;
+        }
+        if (count > arr.length) {
+            if (!autoGrow) {
+                throw new ArrayIndexOutOfBoundsException("Array is too small for " + count + " elements.");
+            }
+            arr = new Integer[count];
+        }
+        for (int i = 0; i < count; i++) {
+            arr[i] = values[i];
+        }
+        for (int i = count; i < arr.length; i++) {
+            arr[i] = null;
+        }
+        if (autoGrow) {
+            end = live = holeCursor = count;
+        }
+        if (bloom != null) rebuildBloomFilter(arr.length);
+    }
+
+    // Factory for codecs in this package
+    // Builds an array of the given capacity with values[i] in slot slots[i], from count
+    // (slot, value) pairs stored one after the other in pairs
+    // Time complexity: O(n)
+    static UnorderedArray withSlots(int capacity, int[] pairs, int count) {
+        UnorderedArray array = new UnorderedArray(capacity);
+        for (int i = 0; i < count; i++) {
+            int slot = pairs[2 * i];
+            if (slot < 0 || slot >= capacity || array.arr[slot] != null) {
+                throw new IllegalArgumentException("Slot " + slot + " is out of range or repeated.");
+            }
+            array.arr[slot] = pairs[2 * i + 1];
+        }
+        return array;
+    }
+
+    // Raw slot access for codecs in this package; null for an empty slot
+    Integer slot(int index) {
+        if (bitmap != null) return index < bitmap.count() ? bitmap.get(index) : null;
+        return arr[index];
+    }
+
+    // The storage in bitmap mode, null otherwise, for bulk readers in this package
+    IntBitmapSet bitmap() {
+        return bitmap;
     }
 
     // Resize method
+    // In auto-growth mode the array is never made smaller than its element count, so no
+    // element is dropped: only the elements at or past newSize are moved into holes first,
+    // and the remaining holes are still filled gradually. Like any resize this copies the
+    // array, an O(n) pause, rather than spreading the work over later operations.
+    // Shrinking below the count in bitmap mode drops the largest elements
     // Time complexity: O(n)
     public void resize(int newSize) {
+        if (bitmap != null) {
+            bitmap.truncate(newSize);
+            capacity = newSize;
+            return;
+        }
+        if (autoGrow) {
+            newSize = Math.max(newSize, live);
+            while (end > newSize) {
+                compactStep();
+            }
+            minCapacity = Math.max(1, newSize);
+            reallocate(newSize);
+            return;
+        }
         Integer[] newArr = new Integer[newSize];
         for (int i = 0; i < Math.min(arr.length, newSize); i++) {
             newArr[i] = arr[i];
         }
         arr = newArr;
+        if (bloom != null) rebuildBloomFilter(arr.length);
+    }
+
+    private IntBitmapSet bits() {
+        return bitmap != null ? bitmap : IntBitmapSet.from(this);
+    }
+
+    private UnorderedArray withBitmap(IntBitmapSet set) {
+        UnorderedArray result = new UnorderedArray(0);
+        result.arr = null;
+        result.bitmap = set;
+        result.capacity = Math.max(size(), set.count());
+        return result;
+    }
+
+    // Scans only need to cover slots that can hold elements
+    private int scanLimit() {
+        return autoGrow ? end : arr.length;
+    }
+
+    // Moves up to COMPACTION_BUDGET elements' worth of work toward a hole-free prefix:
+    // the last element is moved into the lowest hole
+    private void compactStep() {
+        for (int budget = COMPACTION_BUDGET; budget > 0 && end > live; budget--) {
+            if (arr[holeCursor] != null) {
+                holeCursor++;
+                continue;
+            }
+            int from = end - 1; // trimEnd() keeps this slot occupied
+            int value = arr[from];
+            arr[holeCursor] = arr[from];
+            arr[from] = null;
+            end--;
+            trimEnd();
+            if (listener != null) listener.relocated(value, from, holeCursor);
+            holeCursor++;
+        }
+    }
+
+    // Drops trailing holes so end - 1 is always occupied (or end is 0)
+    private void trimEnd() {
+        while (end > 0 && arr[end - 1] == null) {
+            end--;
+        }
+        holeCursor = Math.min(holeCursor, end);
+    }
+
+    private void grow() {
+        if (arr.length == Integer.MAX_VALUE - 8) {
+            throw new ArrayIndexOutOfBoundsException("Array is full. Cannot insert new element.");
+        }
+        reallocate((int) Math.min(Integer.MAX_VALUE - 8, Math.max(4L, 2L * arr.length)));
+    }
+
+    // Halves at a quarter full so the next doubling is at least a quarter of the array away
+    private void shrinkIfSparse() {
+        if (arr.length > minCapacity && end <= arr.length / 4) {
+            reallocate(Math.max(minCapacity, arr.length / 2));
+        }
+    }
+
+    // Copies [0, end) into a new array; positions are unchanged, so no relocations are reported.
+    // The elements are unchanged too, so the Bloom filter stays valid: it is only rebuilt once
+    // the capacity outgrows it, and then sized for the next doubling as well
+    private void reallocate(int capacity) {
+        Integer[] newArr = new Integer[capacity];
+        System.arraycopy(arr, 0, newArr, 0, end);
+        arr = newArr;
+        if (bloom != null && capacity > bloom.expectedInsertions()) {
+            rebuildBloomFilter((int) Math.min(Integer.MAX_VALUE - 8, 2L * capacity));
+        }
+    }
+
+    // Refills a fresh Bloom filter, sized for expectedInsertions, from the live elements
+    private void rebuildBloomFilter(int expectedInsertions) {
+        bloom = bloom.emptyCopy(expectedInsertions);
+        for (Integer value : arr) {
+            if (value != null) bloom.put(BlockedBloomFilter.hash(value.intValue()));
+        }
     }
 }
@@ -0,0 +1,645 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+// Write-ahead log behind DurableOrderedArray and DurableUnorderedArray.
+// The directory holds numbered generations: snapshot-<g>.bin is the array in ArrayCodec format
+// as it was when wal-<g>.log started, and the log holds the mutations made since. Recovery
+// loads the newest snapshot and replays every log from its generation on.
+// A record is 9 bytes: an opcode, an int argument and a CRC32C of both, so a write torn by a
+// crash is detected and replay stops there.
+// append() only copies a record into a memory buffer. A dedicated flusher thread does all
+// writes and forces of the log: each round it takes everything buffered so far, writes it and,
+// if any waiter needs it, forces it with one fsync (group commit), while records appended
+// meanwhile collect in a second buffer for the next round. awaitDurable() only waits for the
+// flusher, so interrupting a writer ends its wait but never closes the shared FileChannel
+// (which NIO does to a channel whose I/O is interrupted).
+// Compaction switches to a new generation and streams the array into its snapshot file while
+// mutations are blocked, then forces the snapshot and deletes the older files without blocking
+// writers. A background compaction that fails is recorded in compactionFailure() and retried
+// after the log has grown by twice as much as before.
+public class WriteAheadLog implements Closeable {
+    // When awaitDurable() returns
+    public enum SyncPolicy {
+        EVERY_COMMIT, // Once the record is forced to the device
+        INTERVAL,     // Once it is written to the OS; a background task forces the log periodically
+        NONE          // Once it is written to the OS; the OS decides when it reaches the device
+    }
+
+    // Record opcodes
+    static final byte INSERT = 1;
+    static final byte DELETE = 2;
+    static final byte RESIZE = 3;
+
+    private static final int LOG_MAGIC = 0x57414C31; // "WAL1"
+    private static final int LOG_HEADER_BYTES = Integer.BYTES + Long.BYTES; // Magic, generation
+    private static final int RECORD_BYTES = 1 + Integer.BYTES + Integer.BYTES;
+    private static final int PAYLOAD_BYTES = 1 + Integer.BYTES;
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // Applies one logged record during recovery
+    interface Replayer {
+        void apply(byte op, int argument) throws IOException;
+    }
+
+    // Loads the array from a snapshot during recovery
+    interface SnapshotLoader {
+        void load(ReadableByteChannel channel) throws IOException;
+    }
+
+    // Writes the array in ArrayCodec format; called while mutations are blocked
+    interface SnapshotSource {
+        void write(WritableByteChannel channel) throws IOException;
+    }
+
+    private final Path directory;
+    private final SyncPolicy policy;
+    private final long syncIntervalNanos;
+
+    // Append and flush state, guarded by lock
+    private final Object lock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer pending = ByteBuffer.allocate(4096); // Records not yet taken by the flusher
+    private ByteBuffer spare = ByteBuffer.allocate(4096);   // Swapped in while the flusher writes
+    private FileChannel channel;
+    private long generation;
+    private long nextLsn = 1;     // Sequence number of the next record
+    private long writtenLsn;      // Records up to here are written to the channel
+    private long durableLsn;      // Records up to here are forced to the device
+    private long writeRequested;  // Highest record a waiter needs written
+    private long forceRequested;  // Highest record a waiter needs forced
+    private long logBytes;        // Size of the current log, buffered records included
+    private boolean flushing;     // The flusher is writing outside the lock
+    private boolean stopping;     // The flusher exits once the requested records are done
+    private boolean closed;
+    private IOException failure;  // First write error; the log refuses further writes
+    private Thread flusher;
+    private ExecutorService background;
+
+    // Compaction state
+    private final Object compactionLock = new Object();
+    private Object mutationLock;
+    private SnapshotSource snapshotSource;
+    private long compactionThreshold;
+    private long nextCompactionBytes; // Log size at which background compaction runs next
+    private boolean compactionQueued;
+    private int compactionFailures;   // Background failures since the last success
+    private Exception compactionFailure;
+
+    // Constructor
+    // Creates the directory if needed; recover() must be called before the first append
+    WriteAheadLog(Path directory, SyncPolicy policy, long syncIntervalMillis) throws IOException {
+        if (policy == null) {
+            throw new IllegalArgumentException("Sync policy must not be null.");
+        }
+        if (policy == SyncPolicy.INTERVAL && syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive.");
+        }
+        this.directory = directory;
+        this.policy = policy;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        Files.createDirectories(directory);
+    }
+
+    // Snapshot source method
+    // Registers how to capture the array, guarded by mutationLock; must precede recover().
+    // Once the log grows past compactionThreshold bytes it is compacted in the background
+    // (0 disables automatic compaction)
+    void setSnapshotSource(Object mutationLock, SnapshotSource source, long compactionThreshold) {
+        if (compactionThreshold < 0) {
+            throw new IllegalArgumentException("Compaction threshold must be non-negative.");
+        }
+        this.mutationLock = mutationLock;
+        this.snapshotSource = source;
+        this.compactionThreshold = compactionThreshold;
+        this.nextCompactionBytes = compactionThreshold;
+    }
+
+    // Recovery method
+    // Loads the newest snapshot, replays the logs from its generation on and opens a new log.
+    // A new directory starts with a snapshot of the initial array, so its capacity is durable
+    // before the first record
+    // Time complexity: O(snapshot + log records)
+    void recover(SnapshotLoader loader, Replayer replayer) throws IOException {
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        List<Long> logs = generations(LOG_PREFIX, LOG_SUFFIX);
+        long next;
+        if (snapshots.isEmpty()) {
+            if (!logs.isEmpty()) {
+                throw new IOException("Write-ahead logs without a snapshot in " + directory + ".");
+            }
+            try (FileChannel out = openSnapshot(0)) {
+                snapshotSource.write(out);
+                out.force(true);
+            }
+            publishSnapshot(0);
+            next = 0;
+        } else {
+            long snapshot = snapshots.get(snapshots.size() - 1);
+            try (FileChannel in = FileChannel.open(snapshotPath(snapshot), StandardOpenOption.READ)) {
+                loader.load(in);
+            }
+            next = snapshot;
+            for (long g : logs) {
+                if (g >= snapshot) {
+                    replay(g, replayer);
+                    next = g + 1;
+                }
+            }
+            deleteBefore(snapshot);
+        }
+        for (Path temp : list("*" + TEMP_SUFFIX)) {
+            Files.deleteIfExists(temp);
+        }
+        FileChannel log = openLog(next);
+        synchronized (lock) {
+            generation = next;
+            channel = log;
+            logBytes = LOG_HEADER_BYTES;
+            flusher = new Thread(this::runFlusher, "wal-flusher-" + directory.getFileName());
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    // Writability check
+    // Callers check before mutating the array, so a change is never applied without being logged
+    // Time complexity: O(1)
+    void ensureWritable() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Write-ahead log is closed.");
+            }
+            if (failure != null) {
+                throw new IOException("Write-ahead log failed earlier; reopen it to recover.", failure);
+            }
+        }
+    }
+
+    // Append method
+    // Buffers a record and returns its sequence number for awaitDurable(). Callers append
+    // under the same lock that orders their mutations, so the log order is the apply order
+    // Time complexity: O(1) amortized
+    long append(byte op, int argument) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed.");
+            }
+            if (pending.remaining() < RECORD_BYTES) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                pending = larger.put(pending);
+            }
+            int start = pending.position();
+            pending.put(op).putInt(argument);
+            crc.reset();
+            crc.update(pending.array(), pending.arrayOffset() + start, PAYLOAD_BYTES);
+            pending.putInt((int) crc.getValue());
+            logBytes += RECORD_BYTES;
+            if (compactionThreshold > 0 && logBytes >= nextCompactionBytes && !compactionQueued) {
+                compactionQueued = true;
+                background().execute(this::compactInBackground);
+            }
+            return nextLsn++;
+        }
+    }
+
+    // Durability method
+    // Returns once record lsn is as durable as the sync policy promises. If the caller is
+    // interrupted it throws InterruptedIOException, and the record is still written
+    // Time complexity: one write, plus one fsync under EVERY_COMMIT, shared by all waiting writers
+    void awaitDurable(long lsn) throws IOException {
+        flush(lsn, policy == SyncPolicy.EVERY_COMMIT);
+    }
+
+    // Compaction method
+    // Starts a new generation and streams the array into its snapshot file, then deletes older
+    // files. Mutations are blocked while the array is written to the OS through the codec's
+    // bounded buffers, so the heap never holds a copy of the image; the fsync and rename run
+    // after they resume
+    // Time complexity: O(n)
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            long snapshot;
+            FileChannel out = null;
+            try {
+                synchronized (mutationLock) {
+                    snapshot = rotate();
+                    out = openSnapshot(snapshot);
+                    snapshotSource.write(out);
+                }
+                out.force(true);
+            } finally {
+                if (out != null) out.close();
+            }
+            publishSnapshot(snapshot);
+            deleteBefore(snapshot);
+            synchronized (lock) {
+                compactionFailures = 0;
+                compactionFailure = null;
+                nextCompactionBytes = compactionThreshold;
+            }
+        }
+    }
+
+    // Returns the error of the last background compaction, or null if it succeeded (or none
+    // has run). Until a compaction succeeds, each retry waits for twice as much log growth
+    // Time complexity: O(1)
+    public Exception compactionFailure() {
+        synchronized (lock) {
+            return compactionFailure;
+        }
+    }
+
+    // Returns the generation of the current log
+    // Time complexity: O(1)
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    // Returns the size of the current log in bytes, buffered records included
+    // Time complexity: O(1)
+    public long logBytes() {
+        synchronized (lock) {
+            return logBytes;
+        }
+    }
+
+    // Returns the sync policy
+    // Time complexity: O(1)
+    public SyncPolicy syncPolicy() {
+        return policy;
+    }
+
+    // Close method
+    // Waits for background work, forces every buffered record and closes the log.
+    // Callers must have stopped appending
+    public void close() throws IOException {
+        ExecutorService executor;
+        synchronized (lock) {
+            if (closed) return;
+            executor = background;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing the write-ahead log.");
+            }
+        }
+        try {
+            long end;
+            synchronized (lock) {
+                end = channel != null ? nextLsn - 1 : 0;
+            }
+            flush(end, true);
+        } finally {
+            Thread thread;
+            synchronized (lock) {
+                closed = true;
+                stopping = true;
+                thread = flusher;
+                lock.notifyAll();
+            }
+            joinUninterruptibly(thread);
+            synchronized (lock) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    // Waits until the flusher has written and, if force is set, forced every record up to lsn
+    private void flush(long lsn, boolean force) throws IOException {
+        synchronized (lock) {
+            if (force) {
+                forceRequested = Math.max(forceRequested, lsn);
+            } else {
+                writeRequested = Math.max(writeRequested, lsn);
+            }
+            lock.notifyAll();
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("Write-ahead log failed earlier; reopen it to recover.", failure);
+                }
+                if ((force ? durableLsn : writtenLsn) >= lsn) return;
+                if (flusher == null || !flusher.isAlive()) {
+                    throw new IOException("Write-ahead log is closed.");
+                }
+                awaitChange();
+            }
+        }
+    }
+
+    // Body of the flusher thread. Each round takes the whole pending buffer, so every writer
+    // that waits meanwhile is covered by this round's write or the next one's. Under INTERVAL
+    // it also forces the log once per interval when there is anything new
+    private void runFlusher() {
+        long nextSync = System.nanoTime() + syncIntervalNanos;
+        while (true) {
+            ByteBuffer batch;
+            FileChannel target;
+            long batchEnd;
+            boolean force;
+            synchronized (lock) {
+                boolean intervalDue = false;
+                while (true) {
+                    if (failure != null) return;
+                    if (policy == SyncPolicy.INTERVAL && System.nanoTime() - nextSync >= 0) {
+                        if (durableLsn < nextLsn - 1) {
+                            intervalDue = true;
+                        } else {
+                            nextSync = System.nanoTime() + syncIntervalNanos;
+                        }
+                    }
+                    if (intervalDue || writeRequested > writtenLsn || forceRequested > durableLsn) break;
+                    if (stopping) return;
+                    long waitMillis = policy == SyncPolicy.INTERVAL
+                            ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextSync - System.nanoTime())) : 0;
+                    try {
+                        lock.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        // Only close() stops the flusher, through stopping
+                    }
+                }
+                force = intervalDue || forceRequested > durableLsn;
+                flushing = true;
+                batch = pending;
+                pending = spare;
+                spare = null;
+                batchEnd = nextLsn - 1;
+                target = channel;
+            }
+            IOException error = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                if (force) {
+                    target.force(false);
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (lock) {
+                flushing = false;
+                spare = batch.clear();
+                if (error == null) {
+                    writtenLsn = batchEnd;
+                    if (force) durableLsn = batchEnd;
+                } else if (failure == null) {
+                    failure = error;
+                }
+                lock.notifyAll();
+            }
+            if (force && policy == SyncPolicy.INTERVAL) {
+                nextSync = System.nanoTime() + syncIntervalNanos;
+            }
+        }
+    }
+
+    // Forces the current log and switches to a new, empty one; called with mutations blocked
+    private long rotate() throws IOException {
+        ensureWritable();
+        long end;
+        synchronized (lock) {
+            end = nextLsn - 1;
+        }
+        flush(end, true);
+        FileChannel next = openLog(generation() + 1);
+        FileChannel old;
+        synchronized (lock) {
+            try {
+                // Mutations are blocked, so only an interval sync can still be using the old log
+                while (flushing) {
+                    awaitChange();
+                }
+            } catch (IOException e) {
+                next.close();
+                throw e;
+            }
+            old = channel;
+            channel = next;
+            generation++;
+            logBytes = LOG_HEADER_BYTES;
+        }
+        old.close();
+        return generation();
+    }
+
+    // Replays one log, stopping at the first incomplete or corrupt record
+    private void replay(long g, Replayer replayer) throws IOException {
+        Path path = logPath(g);
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            if (!fill(in, buffer, LOG_HEADER_BYTES)) return; // Crashed while creating the log
+            if (buffer.getInt() != LOG_MAGIC || buffer.getLong() != g) {
+                throw new IOException("Not a write-ahead log of generation " + g + ": " + path);
+            }
+            CRC32C checksum = new CRC32C();
+            long record = 0;
+            buffer.compact(); // Keeps any records read along with the header
+            while (true) {
+                boolean eof = in.read(buffer) < 0;
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    int start = buffer.position();
+                    byte op = buffer.get();
+                    int argument = buffer.getInt();
+                    checksum.reset();
+                    checksum.update(buffer.array(), buffer.arrayOffset() + start, PAYLOAD_BYTES);
+                    if (buffer.getInt() != (int) checksum.getValue()) return; // Torn write
+                    try {
+                        replayer.apply(op, argument);
+                    } catch (RuntimeException e) {
+                        throw new IOException("Corrupt write-ahead log " + path + " at record " + record + ".", e);
+                    }
+                    record++;
+                }
+                if (eof) return; // Any bytes left are a torn record
+                buffer.compact();
+            }
+        }
+    }
+
+    // Reads until buffer holds at least bytes bytes and flips it; false on a short file
+    private static boolean fill(FileChannel in, ByteBuffer buffer, int bytes) throws IOException {
+        while (buffer.position() < bytes) {
+            if (in.read(buffer) < 0) return false;
+        }
+        buffer.flip();
+        return true;
+    }
+
+    // Creates the log of generation g; a leftover from a rotation that failed is overwritten,
+    // since no record was ever acknowledged in it
+    private FileChannel openLog(long g) throws IOException {
+        FileChannel log = FileChannel.open(logPath(g), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(LOG_MAGIC).putLong(g);
+        header.flip();
+        while (header.hasRemaining()) {
+            log.write(header);
+        }
+        log.force(true);
+        syncDirectory();
+        return log;
+    }
+
+    // Snapshots are written to a temporary file, forced and renamed into place by
+    // publishSnapshot, so a snapshot is never partial; recovery deletes unpublished ones
+    private FileChannel openSnapshot(long g) throws IOException {
+        return FileChannel.open(tempSnapshotPath(g), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private void publishSnapshot(long g) throws IOException {
+        Files.move(tempSnapshotPath(g), snapshotPath(g), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    // Deletes the snapshots and logs older than generation g
+    private void deleteBefore(long g) throws IOException {
+        for (long old : generations(LOG_PREFIX, LOG_SUFFIX)) {
+            if (old < g) Files.deleteIfExists(logPath(old));
+        }
+        for (long old : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < g) Files.deleteIfExists(snapshotPath(old));
+        }
+        syncDirectory();
+    }
+
+    // Makes created, renamed and deleted files durable; not every platform can open a directory
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // The renames are still atomic; only their durability is left to the OS
+        }
+    }
+
+    private Path logPath(long g) {
+        return directory.resolve(LOG_PREFIX + g + LOG_SUFFIX);
+    }
+
+    private Path snapshotPath(long g) {
+        return directory.resolve(SNAPSHOT_PREFIX + g + SNAPSHOT_SUFFIX);
+    }
+
+    private Path tempSnapshotPath(long g) {
+        return directory.resolve(SNAPSHOT_PREFIX + g + TEMP_SUFFIX);
+    }
+
+    // Generations of the files named prefix<g>suffix, ascending
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        List<Long> result = new ArrayList<>();
+        for (Path path : list(prefix + "*" + suffix)) {
+            String name = path.getFileName().toString();
+            try {
+                result.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private List<Path> list(String glob) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    // Waits on lock for the flusher to make progress; the caller holds lock
+    private void awaitChange() throws IOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the write-ahead log.");
+        }
+    }
+
+    // Daemon thread for background compaction; the caller holds lock
+    private ExecutorService background() {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "wal-compaction-" + directory.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    // Failures leave the older files in place, so nothing is lost. They are kept for
+    // compactionFailure(), and the retry waits for the log to grow by twice the previous
+    // allowance, so a persistent failure is not retried on every append
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            synchronized (lock) {
+                compactionFailure = e;
+                compactionFailures++;
+                long allowance = compactionThreshold;
+                for (int i = 0; i < compactionFailures && allowance < Long.MAX_VALUE / 2; i++) {
+                    allowance *= 2;
+                }
+                nextCompactionBytes = logBytes > Long.MAX_VALUE - allowance ? Long.MAX_VALUE : logBytes + allowance;
+            }
+        } finally {
+            synchronized (lock) {
+                compactionQueued = false;
+            }
+        }
+    }
+
+    // Waits for thread to end, keeping the caller's interrupt status
+    private static void joinUninterruptibly(Thread thread) {
+        if (thread == null) return;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files and flags regressions.
+
+A benchmark regresses when its score moves in the wrong direction by more than the
+threshold (in percent) and by more than the two runs' combined error margins. Throughput
+scores should go up; average, sample and single-shot times should go down. With the GC
+profiler enabled (-prof gc), allocated bytes per operation are compared as well.
+
+Usage: compare.py BASE.json NEW.json [--threshold 5] [--alloc-threshold 10]
+Exit status: 0 when nothing regressed, 1 when something did, 2 on bad input.
+"""
+
+import argparse
+import json
+import sys
+
+ALLOC_METRIC = "gc.alloc.rate.norm"
+
+
+def load(path):
+    try:
+        with open(path) as f:
+            runs = json.load(f)
+    except (OSError, ValueError) as e:
+        sys.exit("cannot read %s: %s" % (path, e))
+    results = {}
+    for run in runs:
+        params = run.get("params") or {}
+        key = run["benchmark"] + "".join(
+            " %s=%s" % (k, params[k]) for k in sorted(params))
+        results[(key, run["mode"])] = run
+    return results
+
+
+def change(base, new):
+    if base == 0:
+        return 0.0 if new == 0 else float("inf")
+    return (new - base) / abs(base) * 100.0
+
+
+def error(metric):
+    e = metric.get("scoreError")
+    return e if isinstance(e, (int, float)) and e == e else 0.0  # NaN when too few samples
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flag JMH regressions between two runs.")
+    parser.add_argument("base", help="JSON results of the reference run")
+    parser.add_argument("new", help="JSON results of the run under test")
+    parser.add_argument("--threshold", type=float, default=5.0,
+                        help="score change, in percent, that counts as a regression (default 5)")
+    parser.add_argument("--alloc-threshold", type=float, default=10.0,
+                        help="allocation change, in percent, that counts as a regression (default 10)")
+    args = parser.parse_args()
+
+    base = load(args.base)
+    new = load(args.new)
+    regressions = 0
+
+    print("%-100s %14s %14s %9s" % ("benchmark", "base", "new", "change"))
+    for key in sorted(base.keys() & new.keys()):
+        name, mode = key
+        b = base[key]["primaryMetric"]
+        n = new[key]["primaryMetric"]
+        higher_is_better = mode == "thrpt"
+        delta = change(b["score"], n["score"])
+        worse = -delta if higher_is_better else delta
+        noise = abs(n["score"] - b["score"]) <= error(b) + error(n)
+        flag = ""
+        if worse > args.threshold and not noise:
+            flag = "  REGRESSION"
+            regressions += 1
+        elif worse < -args.threshold and not noise:
+            flag = "  improved"
+        print("%-100s %14.3f %14.3f %+8.1f%% %s%s" % (
+            name, b["score"], n["score"], delta, n["scoreUnit"], flag))
+
+        b_alloc = base[key].get("secondaryMetrics", {}).get(ALLOC_METRIC)
+        n_alloc = new[key].get("secondaryMetrics", {}).get(ALLOC_METRIC)
+        if b_alloc and n_alloc:
+            alloc_delta = change(b_alloc["score"], n_alloc["score"])
+            # Sub-byte differences are profiler noise, not allocations
+            if alloc_delta > args.alloc_threshold and n_alloc["score"] - b_alloc["score"] >= 1:
+                regressions += 1
+                print("%-100s %14.1f %14.1f %+8.1f%% B/op  ALLOCATION REGRESSION" % (
+                    "  " + ALLOC_METRIC, b_alloc["score"], n_alloc["score"], alloc_delta))
+
+    for key in sorted(base.keys() - new.keys()):
+        print("missing from new run: %s (%s)" % key)
+    for key in sorted(new.keys() - base.keys()):
+        print("not in base run: %s (%s)" % key)
+
+    print("%d regression(s) above %.1f%% (allocation: %.1f%%)" % (
+        regressions, args.threshold, args.alloc_threshold))
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,22 @@
+#!/bin/sh
+# Runs the JMH suite with the GC/allocation profiler and writes JSON results.
+# Usage: benchmarks/run.sh <results.json> [JMH options...]
+# Example: benchmarks/run.sh results/main.json "ArrayBenchmark" -p size=100,10000
+set -e
+
+if [ $# -lt 1 ]; then
+    echo "Usage: $0 <results.json> [JMH options...]" >&2
+    exit 2
+fi
+out=$1
+shift
+
+dir=$(dirname "$0")
+jar="$dir/target/benchmarks.jar"
+if [ ! -f "$jar" ]; then
+    echo "Missing $jar; build it with: mvn -B install && mvn -B -f benchmarks/pom.xml package" >&2
+    exit 2
+fi
+
+mkdir -p "$(dirname "$out")"
+exec java -jar "$jar" -prof gc -rf json -rff "$out" "$@"
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import static benchmarks.ArrayHandles.*;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * UnorderedArray and OrderedArray: find, and a delete-then-reinsert cycle that leaves the
+ * array unchanged, for a key at the head, middle or tail of the array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ArrayBenchmark {
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public Keys.Distribution distribution;
+
+    @Param({"HEAD", "MIDDLE", "TAIL"})
+    public Keys.Position position;
+
+    private Object unordered;
+    private Object ordered;
+    private int unorderedKey; // Stored at the chosen position of the unordered array
+    private int orderedKey;   // Stored at the chosen position of the ordered array
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        int[] keys = Keys.generate(size, distribution);
+        int[] sorted = Keys.sorted(keys);
+        // One spare slot, so a reinsert never finds the array full
+        unordered = (Object) UNORDERED_NEW.invokeExact(size + 1);
+        UNORDERED_BULK_LOAD.invokeExact(unordered, keys, size);
+        ordered = (Object) ORDERED_NEW.invokeExact(size + 1);
+        ORDERED_BULK_LOAD.invokeExact(ordered, sorted, size);
+        int index = position.indexIn(size);
+        unorderedKey = keys[index];
+        orderedKey = sorted[index];
+    }
+
+    @Benchmark
+    public int unorderedFind() throws Throwable {
+        return (int) UNORDERED_FIND.invokeExact(unordered, unorderedKey);
+    }
+
+    @Benchmark
+    public int unorderedFindAbsent() throws Throwable {
+        return (int) UNORDERED_FIND.invokeExact(unordered, Keys.absent());
+    }
+
+    // The freed slot is the first empty one, so the key goes back where it was
+    @Benchmark
+    public boolean unorderedDeleteInsert() throws Throwable {
+        boolean deleted = (boolean) UNORDERED_DELETE.invokeExact(unordered, unorderedKey);
+        UNORDERED_INSERT.invokeExact(unordered, unorderedKey);
+        return deleted;
+    }
+
+    @Benchmark
+    public int orderedFind() throws Throwable {
+        return (int) ORDERED_FIND.invokeExact(ordered, orderedKey);
+    }
+
+    @Benchmark
+    public int orderedFindAbsent() throws Throwable {
+        return (int) ORDERED_FIND.invokeExact(ordered, Keys.absent());
+    }
+
+    @Benchmark
+    public boolean orderedDeleteInsert() throws Throwable {
+        boolean deleted = (boolean) ORDERED_DELETE.invokeExact(ordered, orderedKey);
+        ORDERED_INSERT.invokeExact(ordered, orderedKey);
+        return deleted;
+    }
+}
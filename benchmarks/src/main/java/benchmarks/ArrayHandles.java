@@ -0,0 +1,51 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles for the array classes, which live in the default package.
+ * Java cannot import from the default package and JMH cannot generate benchmarks into it, so
+ * the benchmarks reach UnorderedArray and OrderedArray through these handles instead. They are
+ * static final constants, so the JIT inlines invokeExact calls just like direct calls.
+ */
+final class ArrayHandles {
+    static final MethodHandle UNORDERED_NEW = constructor("UnorderedArray");
+    static final MethodHandle UNORDERED_INSERT = method("UnorderedArray", "insert", void.class, int.class);
+    static final MethodHandle UNORDERED_DELETE = method("UnorderedArray", "delete", boolean.class, int.class);
+    static final MethodHandle UNORDERED_FIND = method("UnorderedArray", "find", int.class, int.class);
+    static final MethodHandle UNORDERED_BULK_LOAD = method("UnorderedArray", "bulkLoad", void.class, int[].class, int.class);
+
+    static final MethodHandle ORDERED_NEW = constructor("OrderedArray");
+    static final MethodHandle ORDERED_INSERT = method("OrderedArray", "insert", void.class, int.class);
+    static final MethodHandle ORDERED_DELETE = method("OrderedArray", "delete", boolean.class, int.class);
+    static final MethodHandle ORDERED_FIND = method("OrderedArray", "find", int.class, int.class);
+    static final MethodHandle ORDERED_BULK_LOAD = method("OrderedArray", "bulkLoad", void.class, int[].class, int.class);
+
+    private ArrayHandles() {
+    }
+
+    // (int size) -> Object
+    private static MethodHandle constructor(String className) {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findConstructor(Class.forName(className), MethodType.methodType(void.class, int.class));
+            return handle.asType(MethodType.methodType(Object.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // (Object receiver, params...) -> returnType
+    private static MethodHandle method(String className, String name, Class<?> returnType, Class<?>... params) {
+        try {
+            Class<?> owner = Class.forName(className);
+            MethodHandle handle = MethodHandles.publicLookup()
+                    .findVirtual(owner, name, MethodType.methodType(returnType, params));
+            return handle.asType(handle.type().changeParameterType(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
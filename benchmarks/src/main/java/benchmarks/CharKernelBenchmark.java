@@ -0,0 +1,86 @@
+package benchmarks;
+
+import Recursion.RecursiveSolution;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RecursiveSolution's character kernels (recursive halving down to SWAR leaves) on a String
+ * and on a StringBuilder holding the same text, against the String.indexOf intrinsic as a
+ * baseline. The kernels take the same path for both sequence types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharKernelBenchmark {
+    private final RecursiveSolution recursive = new RecursiveSolution();
+
+    @Param({"10000", "1000000"})
+    public int length;
+
+    // One match in about every 26 characters, or none
+    private final char present = 'q';
+    private final char absent = '#';
+
+    private String string;
+    private StringBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        string = builder.toString();
+    }
+
+    @Benchmark
+    public int intrinsicIndexOfAbsent() {
+        return string.indexOf(absent);
+    }
+
+    @Benchmark
+    public int stringIndexOfAbsent() {
+        return recursive.indexOfChar(string, absent);
+    }
+
+    @Benchmark
+    public int builderIndexOfAbsent() {
+        return recursive.indexOfChar(builder, absent);
+    }
+
+    @Benchmark
+    public int intrinsicCount() {
+        int total = 0;
+        for (int i = string.indexOf(present); i != -1; i = string.indexOf(present, i + 1)) {
+            total++;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int stringCount() {
+        return recursive.countChar(string, present);
+    }
+
+    @Benchmark
+    public int builderCount() {
+        return recursive.countChar(builder, present);
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import LinkedList.CircularArrayDeque;
+import LinkedList.DoublyLinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CircularArrayDeque against DoublyLinkedList on the end-only workload: a cycle that fills
+ * the structure from both ends and drains it from both ends, 2 * size operations in all.
+ * The fill benchmarks build a full structure and return it; run them with -prof gc and divide
+ * gc.alloc.rate.norm by size for the bytes allocated per element (for the deque this includes
+ * the arrays discarded while it doubles).
+ * The values come from a shared array, so only the structure itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class DequeBenchmark {
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private Integer[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+    }
+
+    @Benchmark
+    public DoublyLinkedList<Integer> linkedFillDrain() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            if ((i & 1) == 0) list.insertLast(values[i]); else list.insertFirst(values[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            if ((i & 1) == 0) list.deleteFirst(); else list.deleteLast();
+        }
+        return list;
+    }
+
+    @Benchmark
+    public CircularArrayDeque<Integer> dequeFillDrain() {
+        CircularArrayDeque<Integer> deque = new CircularArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if ((i & 1) == 0) deque.insertLast(values[i]); else deque.insertFirst(values[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            if ((i & 1) == 0) deque.deleteFirst(); else deque.deleteLast();
+        }
+        return deque;
+    }
+
+    @Benchmark
+    public DoublyLinkedList<Integer> linkedFill() {
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.insertLast(values[i]);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public CircularArrayDeque<Integer> dequeFill() {
+        CircularArrayDeque<Integer> deque = new CircularArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            deque.insertLast(values[i]);
+        }
+        return deque;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Key sets shared by the structure benchmarks.
+ */
+public final class Keys {
+    /** Where in a structure the benchmarked key sits. */
+    public enum Position {
+        HEAD, MIDDLE, TAIL;
+
+        int indexIn(int size) {
+            switch (this) {
+                case HEAD: return 0;
+                case MIDDLE: return size / 2;
+                default: return size - 1;
+            }
+        }
+    }
+
+    /** How keys are spread over the int range. */
+    public enum Distribution {
+        /** 0, 1, 2, ... in insertion order. */
+        SEQUENTIAL,
+        /** Distinct keys spread over the whole int range, in random insertion order. */
+        RANDOM
+    }
+
+    private static final long SEED = 42;
+
+    private Keys() {
+    }
+
+    /**
+     * Returns size distinct non-negative keys in insertion order. None of them is equal to absent().
+     */
+    static int[] generate(int size, Distribution distribution) {
+        int[] keys = new int[size];
+        if (distribution == Distribution.SEQUENTIAL) {
+            for (int i = 0; i < size; i++) keys[i] = i;
+            return keys;
+        }
+        // Evenly spaced slots of the int range with a random offset inside each slot, shuffled
+        Random random = new Random(SEED);
+        long stride = (Integer.MAX_VALUE - 1L) / Math.max(1, size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = (int) (i * stride + (stride > 1 ? random.nextInt((int) Math.min(stride, Integer.MAX_VALUE)) : 0));
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        return keys;
+    }
+
+    /** Returns a sorted copy of keys. */
+    static int[] sorted(int[] keys) {
+        int[] copy = keys.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /** A key never produced by generate(). */
+    static int absent() {
+        return -1;
+    }
+}
@@ -0,0 +1,112 @@
+package benchmarks;
+
+import LinkedList.DoublyLinkedList;
+import LinkedList.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LinkedList and DoublyLinkedList: find, and an insert-then-delete cycle that leaves the list
+ * unchanged, at the head, middle or tail, with and without the optional key index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ListBenchmark {
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public Keys.Distribution distribution;
+
+    @Param({"HEAD", "MIDDLE", "TAIL"})
+    public Keys.Position position;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private LinkedList<Integer> singly;
+    private DoublyLinkedList<Integer> doubly;
+    private Integer key;      // Stored at the chosen position
+    private Integer extra;    // Inserted and removed again by the update benchmarks
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] keys = Keys.generate(size, distribution);
+        singly = new LinkedList<>(indexed);
+        doubly = new DoublyLinkedList<>(indexed);
+        for (int k : keys) {
+            Integer boxed = k;
+            singly.insertLast(boxed);
+            doubly.insertLast(boxed);
+        }
+        index = position.indexIn(size);
+        key = keys[index];
+        extra = Keys.absent();
+    }
+
+    @Benchmark
+    public int singlyFind() {
+        return singly.find(key);
+    }
+
+    @Benchmark
+    public int singlyFindAbsent() {
+        return singly.find(extra);
+    }
+
+    @Benchmark
+    public boolean singlyInsertDelete() {
+        switch (position) {
+            case HEAD:
+                singly.insertFirst(extra);
+                return singly.deleteFirst();
+            case TAIL:
+                singly.insertLast(extra);
+                return singly.deleteLast();
+            default:
+                singly.insertAt(extra, index);
+                return singly.deleteAt(index);
+        }
+    }
+
+    @Benchmark
+    public int doublyFind() {
+        return doubly.find(key);
+    }
+
+    @Benchmark
+    public int doublyFindAbsent() {
+        return doubly.find(extra);
+    }
+
+    @Benchmark
+    public boolean doublyInsertDelete() {
+        switch (position) {
+            case HEAD:
+                doubly.insertFirst(extra);
+                return doubly.deleteFirst();
+            case TAIL:
+                doubly.insertLast(extra);
+                return doubly.deleteLast();
+            default:
+                doubly.insertAt(extra, index);
+                return doubly.deleteAt(index);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package benchmarks;
+
+import Recursion.IterativeSolution;
+import Recursion.RecursiveSolution;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Every method that RecursiveSolution and IterativeSolution both provide, one benchmark per
+ * class, named recursiveX / iterativeX so the pairs sort next to each other in the results.
+ * Methods that both classes delegate to the same code (Factorials, GridPaths) are benchmarked
+ * once, as sharedX, since a pair would only measure the same code twice.
+ * Scalar inputs sit at the top of each method's valid range; string and grid methods take
+ * their sizes from the nested state classes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolutionBenchmark {
+    private final RecursiveSolution recursive = new RecursiveSolution();
+    private final IterativeSolution iterative = new IterativeSolution();
+
+    // Non-final so the JIT cannot constant-fold the calls
+    private int triInput = 65535;
+    private long triLongInput = 3_000_000_000L;
+    private int factInput = 12;
+    private int factLongInput = 20;
+    private int factBigInput = 10_000;
+    private int fibInput = 46;
+    private int fibLongInput = 92;
+    private int fibBigInput = 100_000;
+    private int gcdA = 1_836_311_903; // F(46) and F(45): the slowest case for Euclid
+    private int gcdB = 1_134_903_170;
+    private int pathsInput = 16;
+    private int pathsLongInput = 30;
+    private int pathsBigInput = 1_000;
+
+    /** Strings of the given length, with no occurrence of the searched character. */
+    @State(Scope.Benchmark)
+    public static class Text {
+        @Param({"100", "10000", "1000000"})
+        public int length;
+
+        public String value;
+        public char absent = '#';
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            StringBuilder builder = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+            value = builder.toString();
+        }
+    }
+
+    /**
+     * Empties RecursiveSolution's shared fibBig memo before every call, so recursiveFibBig
+     * computes from scratch like iterativeFibBig instead of returning a cached pair.
+     * recursiveFibBigMemoized measures the cache hit on its own.
+     */
+    @State(Scope.Benchmark)
+    public static class ColdFibMemo {
+        @Setup(Level.Invocation)
+        public void clear() {
+            RecursiveSolution.clearFibMemo();
+        }
+    }
+
+    /** Square obstacle grids with about one cell in ten blocked. */
+    @State(Scope.Benchmark)
+    public static class Grid {
+        @Param({"100", "1000"})
+        public int side;
+
+        public boolean[][] blocked;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            blocked = new boolean[side][side];
+            for (boolean[] row : blocked) {
+                for (int c = 0; c < side; c++) {
+                    row[c] = random.nextInt(10) == 0;
+                }
+            }
+            blocked[0][0] = false;
+            blocked[side - 1][side - 1] = false;
+        }
+    }
+
+    @Benchmark
+    public int recursiveTri() {
+        return recursive.tri(triInput);
+    }
+
+    @Benchmark
+    public int iterativeTri() {
+        return iterative.tri(triInput);
+    }
+
+    @Benchmark
+    public long sharedTriLong() {
+        return recursive.triLong(triLongInput);
+    }
+
+    @Benchmark
+    public BigInteger sharedTriBig() {
+        return recursive.triBig(triLongInput);
+    }
+
+    @Benchmark
+    public int recursiveFact() {
+        return recursive.fact(factInput);
+    }
+
+    @Benchmark
+    public int iterativeFact() {
+        return iterative.fact(factInput);
+    }
+
+    @Benchmark
+    public long sharedFactLong() {
+        return recursive.factLong(factLongInput);
+    }
+
+    @Benchmark
+    public BigInteger sharedFactBig() {
+        return recursive.factBig(factBigInput);
+    }
+
+    @Benchmark
+    public int recursiveFib() {
+        return recursive.fib(fibInput);
+    }
+
+    @Benchmark
+    public int iterativeFib() {
+        return iterative.fib(fibInput);
+    }
+
+    @Benchmark
+    public long recursiveFibLong() {
+        return recursive.fibLong(fibLongInput);
+    }
+
+    @Benchmark
+    public long iterativeFibLong() {
+        return iterative.fibLong(fibLongInput);
+    }
+
+    @Benchmark
+    public BigInteger recursiveFibBig(ColdFibMemo cold) {
+        return recursive.fibBig(fibBigInput);
+    }
+
+    @Benchmark
+    public BigInteger recursiveFibBigMemoized() {
+        return recursive.fibBig(fibBigInput);
+    }
+
+    @Benchmark
+    public BigInteger iterativeFibBig() {
+        return iterative.fibBig(fibBigInput);
+    }
+
+    @Benchmark
+    public int recursiveGcd() {
+        return recursive.gcd(gcdA, gcdB);
+    }
+
+    @Benchmark
+    public int iterativeGcd() {
+        return iterative.gcd(gcdA, gcdB);
+    }
+
+    @Benchmark
+    public String recursiveReverseStr(Text text) {
+        return recursive.reverseStr(text.value);
+    }
+
+    @Benchmark
+    public String iterativeReverseStr(Text text) {
+        return iterative.reverseStr(text.value);
+    }
+
+    @Benchmark
+    public boolean recursiveHasChar(Text text) {
+        return recursive.hasChar(text.value, text.absent);
+    }
+
+    @Benchmark
+    public boolean iterativeHasChar(Text text) {
+        return iterative.hasChar(text.value, text.absent);
+    }
+
+    @Benchmark
+    public int recursiveCountUniquePaths() {
+        return recursive.countUniquePaths(pathsInput, pathsInput);
+    }
+
+    @Benchmark
+    public int iterativeCountUniquePaths() {
+        return iterative.countUniquePaths(pathsInput, pathsInput);
+    }
+
+    @Benchmark
+    public long sharedCountUniquePathsLong() {
+        return recursive.countUniquePathsLong(pathsLongInput, pathsLongInput);
+    }
+
+    @Benchmark
+    public BigInteger sharedCountUniquePathsBig() {
+        return recursive.countUniquePathsBig(pathsBigInput, pathsBigInput);
+    }
+
+    @Benchmark
+    public BigInteger sharedCountUniquePathsGrid(Grid grid) {
+        return recursive.countUniquePathsBig(grid.blocked);
+    }
+}
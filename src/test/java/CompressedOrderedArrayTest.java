@@ -0,0 +1,132 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompressedOrderedArrayTest {
+
+    // Around the block size of 128, plus larger arrays spanning many blocks
+    private static final int[] COUNTS = {0, 1, 2, 127, 128, 129, 255, 256, 1000, 20_000};
+
+    @Test
+    void fullRangeValuesRoundTrip() {
+        Random random = new Random(31);
+        for (int count : COUNTS) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt();
+            }
+            check(values, random);
+        }
+    }
+
+    @Test
+    void extremeDeltasRoundTrip() {
+        Random random = new Random(310);
+        for (int count : COUNTS) {
+            // Alternating ends of the int range force 32-bit gaps in every block
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(3) : Integer.MAX_VALUE - random.nextInt(3);
+            }
+            check(values, random);
+        }
+    }
+
+    @Test
+    void clusteredNegativeValuesWithDuplicatesRoundTrip() {
+        Random random = new Random(3100);
+        for (int count : COUNTS) {
+            int[] values = new int[count];
+            int value = -1_000_000;
+            for (int i = 0; i < count; i++) {
+                // Runs of equal keys (zero-width blocks), small gaps and the odd jump
+                int pick = random.nextInt(10);
+                value += pick < 4 ? 0 : pick < 9 ? random.nextInt(16) : random.nextInt(1 << 20);
+                values[i] = value;
+            }
+            check(values, random);
+        }
+    }
+
+    @Test
+    void rejectsUnsortedInput() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedOrderedArray(new int[] {1, 3, 2}, 3));
+        assertThrows(IllegalArgumentException.class, () -> new CompressedOrderedArray(new int[] {1}, 2));
+    }
+
+    @Test
+    void fromOrderedArrayInBothModes() {
+        Random random = new Random(31000);
+        OrderedArray array = new OrderedArray(5000);
+        int[] values = random.ints(3000, -100_000, 100_000).distinct().sorted().toArray();
+        for (int i = values.length - 1; i >= 0; i--) {
+            array.insert(values[i]);
+        }
+        assertArrayEquals(values, contents(CompressedOrderedArray.from(array)));
+        array.enableBitmapMode();
+        assertArrayEquals(values, contents(CompressedOrderedArray.from(array)));
+    }
+
+    // Sorts values, compresses them and checks every accessor against the sorted int[]
+    private static void check(int[] values, Random random) {
+        Arrays.sort(values);
+        CompressedOrderedArray compressed = new CompressedOrderedArray(values, values.length);
+        assertEquals(values.length, compressed.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], compressed.get(i));
+        }
+        assertArrayEquals(values, contents(compressed));
+
+        for (int value : values) {
+            assertEquals(value, compressed.get(compressed.find(value)));
+        }
+        for (int probe = 0; probe < 1000; probe++) {
+            int x = values.length > 0 && random.nextBoolean()
+                    ? values[random.nextInt(values.length)] + random.nextInt(3) - 1
+                    : random.nextInt();
+            int index = compressed.find(x);
+            if (Arrays.binarySearch(values, x) >= 0) {
+                assertEquals(x, compressed.get(index));
+            } else {
+                assertEquals(-1, index);
+            }
+        }
+
+        for (int probe = 0; probe < 200; probe++) {
+            int from = random.nextInt();
+            int to = random.nextInt();
+            if (values.length > 0 && random.nextBoolean()) {
+                from = values[random.nextInt(values.length)];
+                to = values[random.nextInt(values.length)];
+            }
+            if (from > to) {
+                int swap = from;
+                from = to;
+                to = swap;
+            }
+            int lo = 0;
+            while (lo < values.length && values[lo] < from) lo++;
+            int hi = lo;
+            while (hi < values.length && values[hi] <= to) hi++;
+            int[] expected = Arrays.copyOfRange(values, lo, hi);
+            int[] out = new int[expected.length + 1];
+            assertEquals(expected.length, compressed.range(from, to, out));
+            assertArrayEquals(expected, Arrays.copyOf(out, expected.length));
+        }
+
+        OrderedArray expanded = compressed.toOrderedArray(values.length + 5);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], expanded.get(i));
+        }
+    }
+
+    private static int[] contents(CompressedOrderedArray compressed) {
+        int[] out = new int[compressed.size()];
+        assertEquals(out.length, compressed.range(Integer.MIN_VALUE, Integer.MAX_VALUE, out));
+        return out;
+    }
+}
@@ -0,0 +1,229 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurableArrayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornTailIsDroppedOnReplay() throws IOException {
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 16)) {
+            for (int i = 1; i <= 10; i++) {
+                array.insert(i);
+            }
+        }
+        // Cut the last record short, as a crash in the middle of its write would
+        Path log = directory.resolve("wal-0.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 16)) {
+            for (int i = 1; i <= 9; i++) {
+                assertEquals(i - 1, array.find(i));
+            }
+            assertEquals(-1, array.find(10));
+            array.insert(42);
+        }
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 16)) {
+            assertEquals(9, array.find(42));
+            assertEquals(-1, array.find(10));
+        }
+    }
+
+    @Test
+    void garbageAfterTheLastRecordIsIgnored() throws IOException {
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 8)) {
+            array.insert(7);
+            array.insert(8);
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve("wal-0.log"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 0, 0, 0, 9, 1, 2, 3, 4}));
+        }
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 8)) {
+            assertEquals(2, array.count());
+            assertFalse(array.contains(9));
+        }
+    }
+
+    @Test
+    void recoversAcrossGenerations() throws IOException {
+        Random random = new Random(7);
+        OrderedArray model = new OrderedArray(512);
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 512,
+                WriteAheadLog.SyncPolicy.NONE, 0, 0)) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 60; i++) {
+                    int value = random.nextInt(1000);
+                    array.insert(value);
+                    model.insert(value);
+                }
+                for (int i = 0; i < 20; i++) {
+                    int value = random.nextInt(1000);
+                    assertEquals(model.delete(value), array.delete(value));
+                }
+                if (round < 4) {
+                    array.compact();
+                }
+            }
+            assertEquals(4, array.log().generation());
+        }
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 1)) {
+            assertEquals(model.size(), array.size());
+            assertSameSlots(model.size(), model::get, array::get);
+        }
+        assertTrue(Files.exists(directory.resolve("snapshot-4.bin")));
+        assertFalse(Files.exists(directory.resolve("snapshot-3.bin")));
+        assertFalse(Files.exists(directory.resolve("wal-3.log")));
+    }
+
+    @Test
+    void recoversFromACrashBetweenRotateAndSnapshot() throws IOException {
+        UnorderedArray model = new UnorderedArray(32);
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 32)) {
+            for (int i = 0; i < 10; i++) {
+                array.insert(i);
+                model.insert(i);
+            }
+            // A directory where the snapshot's temporary file belongs makes the snapshot write
+            // fail after the log has already moved on to generation 1
+            Files.createDirectory(directory.resolve("snapshot-1.tmp"));
+            assertThrows(IOException.class, array::compact);
+            assertEquals(1, array.log().generation());
+            array.delete(3);
+            model.delete(3);
+            array.insert(99);
+            model.insert(99);
+        }
+        assertFalse(Files.exists(directory.resolve("snapshot-1.bin")));
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 32)) {
+            assertSameSlots(model.size(), model::get, array::get);
+            assertEquals(3, array.find(99));
+            array.compact();
+        }
+        assertFalse(Files.exists(directory.resolve("snapshot-1.tmp")));
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 32)) {
+            assertSameSlots(model.size(), model::get, array::get);
+        }
+    }
+
+    @Test
+    void replaysAShrinkingResizeOnTheSameSlots() throws IOException {
+        UnorderedArray model = new UnorderedArray(12);
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 12)) {
+            for (int i = 0; i < 10; i++) {
+                array.insert(i);
+                model.insert(i);
+            }
+            for (int value : new int[] {2, 5}) {
+                array.delete(value);
+                model.delete(value);
+            }
+            // The snapshot keeps the holes at slots 2 and 5, so the live array is not packed
+            array.compact();
+            assertEquals(6, array.find(6));
+            array.insert(100);
+            model.insert(100);
+            array.resize(6);
+            model.resize(6);
+            array.insert(200);
+            model.insert(200);
+            assertSameSlots(model.size(), model::get, array::get);
+        }
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 12)) {
+            assertEquals(6, array.size());
+            assertSameSlots(model.size(), model::get, array::get);
+        }
+    }
+
+    @Test
+    void failedBackgroundCompactionIsRecordedAndBackedOff() throws Exception {
+        try (DurableUnorderedArray array = new DurableUnorderedArray(directory, 4096,
+                WriteAheadLog.SyncPolicy.NONE, 0, 200)) {
+            for (int g = 1; g <= 20; g++) {
+                Files.createDirectory(directory.resolve("snapshot-" + g + ".tmp"));
+            }
+            for (int i = 0; i < 4000; i++) {
+                array.insert(i);
+            }
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (array.log().compactionFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNotNull(array.log().compactionFailure());
+            // 36 KB of log past a 200-byte threshold: without back-off every append would retry
+            assertTrue(array.log().generation() <= 10, "generation " + array.log().generation());
+
+            for (int g = 1; g <= 20; g++) {
+                Files.deleteIfExists(directory.resolve("snapshot-" + g + ".tmp"));
+            }
+            array.compact();
+            assertNull(array.log().compactionFailure());
+            assertEquals(4000, array.count());
+        }
+    }
+
+    @Test
+    void interruptedWriterDoesNotFailTheLog() throws IOException {
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 8)) {
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(InterruptedIOException.class, () -> array.insert(1));
+            } finally {
+                Thread.interrupted();
+            }
+            array.insert(2);
+            array.compact();
+            array.insert(3);
+        }
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 8)) {
+            assertEquals(0, array.find(1));
+            assertEquals(1, array.find(2));
+            assertEquals(2, array.find(3));
+        }
+    }
+
+    @Test
+    void intervalPolicyForcesInTheBackground() throws Exception {
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 8,
+                WriteAheadLog.SyncPolicy.INTERVAL, 5, 0)) {
+            array.insert(1);
+            array.insert(2);
+        }
+        try (DurableOrderedArray array = new DurableOrderedArray(directory, 8)) {
+            assertEquals(1, array.find(2));
+        }
+    }
+
+    // Slot by slot: equal values, or empty in both
+    private static void assertSameSlots(int size, IntUnaryOperator expected, IntUnaryOperator actual) {
+        for (int i = 0; i < size; i++) {
+            Integer want = valueAt(expected, i);
+            assertEquals(want, valueAt(actual, i), "slot " + i);
+        }
+    }
+
+    private static Integer valueAt(IntUnaryOperator get, int index) {
+        try {
+            return get.applyAsInt(index);
+        } catch (NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExternalSortIngestTest {
+
+    // At the minimum budget the I/O buffers are 64 KiB, so runs hold at most 10922 ints and a
+    // merge takes at most 3 runs: 100000 ints need several merge passes
+    private static final int COUNT = 100_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void orderedArrayMatchesArraysSort() throws IOException {
+        int[] values = randomValues(1);
+        Path input = write(values, ByteOrder.BIG_ENDIAN);
+        Path spill = Files.createDirectory(directory.resolve("spill"));
+
+        ExternalSortIngest ingest = new ExternalSortIngest(ExternalSortIngest.MIN_MEMORY_BYTES, spill, ByteOrder.BIG_ENDIAN);
+        OrderedArray array = ingest.toOrderedArray(input, COUNT + 10);
+
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertEquals(COUNT, array.count());
+        int[] actual = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            actual[i] = array.get(i);
+        }
+        assertArrayEquals(expected, actual);
+        assertEmpty(spill);
+    }
+
+    @Test
+    void snapshotMatchesArraysSort() throws IOException {
+        int[] values = randomValues(2);
+        Path input = write(values, ByteOrder.LITTLE_ENDIAN);
+        Path output = directory.resolve("sorted.bin");
+        Path spill = Files.createDirectory(directory.resolve("spill"));
+
+        ExternalSortIngest ingest = new ExternalSortIngest(ExternalSortIngest.MIN_MEMORY_BYTES, spill, ByteOrder.LITTLE_ENDIAN);
+        assertEquals(COUNT, ingest.toSnapshot(input, output, COUNT));
+        // A second ingest reuses the pooled buffers
+        assertEquals(COUNT, ingest.toSnapshot(input, output, COUNT));
+
+        OrderedArray array;
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.READ)) {
+            array = new ArrayCodec().readOrdered(channel);
+        }
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertEquals(COUNT, array.count());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(expected[i], array.get(i));
+        }
+        assertEmpty(spill);
+    }
+
+    // Full-range values mixed with a narrow band, so duplicates and negatives both occur
+    private static int[] randomValues(long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = random.nextBoolean() ? random.nextInt() : random.nextInt(1000) - 500;
+        }
+        return values;
+    }
+
+    private Path write(int[] values, ByteOrder order) throws IOException {
+        Path input = directory.resolve("input.bin");
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(order);
+        buffer.asIntBuffer().put(values);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return input;
+    }
+
+    private static void assertEmpty(Path spill) throws IOException {
+        try (Stream<Path> files = Files.list(spill)) {
+            assertEquals(0, files.count(), "Temporary run files were left behind");
+        }
+    }
+}
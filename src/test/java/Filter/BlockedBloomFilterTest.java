@@ -0,0 +1,91 @@
+package Filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class BlockedBloomFilterTest {
+
+    @Test
+    void insertedKeysAreNeverRejected() {
+        Random random = new Random(33);
+        for (int n : new int[] {0, 1, 100, 10_000, 200_000}) {
+            for (double rate : new double[] {0.1, 0.01, 0.001}) {
+                BlockedBloomFilter filter = new BlockedBloomFilter(n, rate, 0.5);
+                int[] keys = random.ints(n).toArray();
+                for (int key : keys) {
+                    filter.put(BlockedBloomFilter.hash(key));
+                }
+                for (int key : keys) {
+                    assertTrue(filter.mightContain(BlockedBloomFilter.hash(key)), "False negative for " + key);
+                }
+                assertFalse(filter.needsRebuild());
+            }
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        Random random = new Random(330);
+        int n = 100_000;
+        for (double rate : new double[] {0.05, 0.01}) {
+            BlockedBloomFilter filter = new BlockedBloomFilter(n, rate, 0.5);
+            Set<Integer> keys = new HashSet<>();
+            while (keys.size() < n) {
+                keys.add(random.nextInt());
+            }
+            for (int key : keys) {
+                filter.put(BlockedBloomFilter.hash(key));
+            }
+            int probes = 0;
+            int passed = 0;
+            while (probes < 200_000) {
+                int key = random.nextInt();
+                if (keys.contains(key)) continue;
+                probes++;
+                if (filter.mightContain(BlockedBloomFilter.hash(key))) passed++;
+            }
+            double observed = (double) passed / probes;
+            assertTrue(observed < 2 * rate, "Observed false-positive rate " + observed + " for target " + rate);
+            assertTrue(filter.estimatedFalsePositiveRate() < 2 * rate);
+        }
+    }
+
+    @Test
+    void objectAndIntHashesAgree() {
+        Random random = new Random(3300);
+        for (int i = 0; i < 1000; i++) {
+            int key = random.nextInt();
+            assertEquals(BlockedBloomFilter.hash(key), BlockedBloomFilter.hash(Integer.valueOf(key)));
+        }
+        BlockedBloomFilter filter = new BlockedBloomFilter(10, 0.01, 0.5);
+        filter.put(BlockedBloomFilter.hash((Object) null));
+        assertTrue(filter.mightContain(BlockedBloomFilter.hash((Object) null)));
+    }
+
+    @Test
+    void rebuildIsRequestedForStaleOrExtraKeys() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(100, 0.01, 0.25);
+        for (int i = 0; i < 100; i++) {
+            filter.put(BlockedBloomFilter.hash(i));
+        }
+        assertFalse(filter.needsRebuild());
+        for (int i = 0; i < 25; i++) {
+            filter.recordDelete();
+        }
+        assertFalse(filter.needsRebuild());
+        filter.recordDelete();
+        assertTrue(filter.needsRebuild());
+
+        BlockedBloomFilter full = filter.emptyCopy(100);
+        for (int i = 0; i <= 100; i++) {
+            full.put(BlockedBloomFilter.hash(i));
+        }
+        assertTrue(full.needsRebuild());
+    }
+}
@@ -0,0 +1,119 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class GappedOrderedArrayTest {
+
+    @Test
+    void matchesMultisetModel() {
+        Random random = new Random(30);
+        GappedOrderedArray array = new GappedOrderedArray(0);
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        int modelCount = 0;
+        for (int step = 0; step < 400_000; step++) {
+            // Inserts win slightly more often, so the array grows and shrinks through several sizes
+            boolean insert = random.nextInt(100) < (step % 100_000 < 60_000 ? 55 : 45);
+            int x = key(random);
+            if (insert) {
+                array.insert(x);
+                model.merge(x, 1, Integer::sum);
+                modelCount++;
+            } else {
+                boolean present = model.containsKey(x);
+                assertEquals(present, array.delete(x));
+                if (present) {
+                    model.compute(x, (k, n) -> n == 1 ? null : n - 1);
+                    modelCount--;
+                }
+            }
+            assertEquals(modelCount, array.count());
+            int probe = key(random);
+            int slot = array.find(probe);
+            if (model.containsKey(probe)) {
+                assertEquals(probe, array.get(slot));
+            } else {
+                assertEquals(-1, slot);
+            }
+            if (step % 1000 == 0) {
+                assertContents(model, modelCount, array);
+                int from = key(random);
+                int to = (int) Math.min(Integer.MAX_VALUE, (long) from + random.nextInt(2000));
+                assertArrayEquals(expand(model.subMap(from, true, to, true), Integer.MAX_VALUE),
+                        range(array, from, to));
+            }
+        }
+    }
+
+    @Test
+    void resizeKeepsSmallestElements() {
+        Random random = new Random(300);
+        GappedOrderedArray array = new GappedOrderedArray(100);
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(500);
+            array.insert(x);
+            model.merge(x, 1, Integer::sum);
+        }
+        int[] all = expand(model, Integer.MAX_VALUE);
+
+        array.resize(2000);
+        assertContents(model, all.length, array);
+        assertTrue(array.size() >= 2000);
+
+        array.resize(300);
+        int[] kept = new int[300];
+        System.arraycopy(all, 0, kept, 0, 300);
+        assertArrayEquals(kept, range(array, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue(array.size() >= 300);
+
+        array.resize(0);
+        assertEquals(0, array.count());
+        assertEquals(-1, array.find(kept[0]));
+        array.insert(7);
+        assertEquals(7, array.get(array.find(7)));
+    }
+
+    // Mostly a narrow band with many duplicates, sometimes the extremes
+    private static int key(Random random) {
+        switch (random.nextInt(50)) {
+            case 0: return Integer.MIN_VALUE;
+            case 1: return Integer.MAX_VALUE;
+            case 2: return random.nextInt();
+            default: return random.nextInt(5000) - 2500;
+        }
+    }
+
+    private static void assertContents(TreeMap<Integer, Integer> model, int modelCount, GappedOrderedArray array) {
+        assertEquals(modelCount, array.count());
+        assertArrayEquals(expand(model, modelCount), range(array, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static int[] range(GappedOrderedArray array, int from, int to) {
+        int[] out = new int[array.count()];
+        int copied = array.range(from, to, out);
+        int[] result = new int[copied];
+        System.arraycopy(out, 0, result, 0, copied);
+        return result;
+    }
+
+    // The multiset's elements in order, at most limit of them
+    private static int[] expand(Map<Integer, Integer> model, int limit) {
+        int total = 0;
+        for (int n : model.values()) {
+            total += n;
+        }
+        int[] values = new int[Math.min(total, limit)];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            for (int n = 0; n < entry.getValue() && i < values.length; n++) {
+                values[i++] = entry.getKey();
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,225 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+import IO.BufferPool;
+
+class IntBitmapSetTest {
+
+    @Test
+    void containersConvertBothWaysUnderChurn() {
+        Random random = new Random(32);
+        IntBitmapSet set = new IntBitmapSet();
+        TreeSet<Integer> model = new TreeSet<>();
+        // One chunk filled well past 4096 values (bitmap form), then drained well below 2048
+        // (back to array form), next to a sparse chunk and a negative one
+        for (int phase = 0; phase < 4; phase++) {
+            boolean filling = phase % 2 == 0;
+            for (int step = 0; step < 30_000; step++) {
+                int x = key(random);
+                if (filling ? random.nextInt(10) < 9 : random.nextInt(10) < 1) {
+                    set.insert(x);
+                    model.add(x);
+                } else {
+                    assertEquals(model.remove(x), set.delete(x));
+                }
+                if (step % 3000 == 0) assertMatches(model, set, random);
+            }
+            assertMatches(model, set, random);
+        }
+    }
+
+    @Test
+    void setOperationsMatchModel() {
+        Random random = new Random(320);
+        for (int round = 0; round < 20; round++) {
+            IntBitmapSet a = new IntBitmapSet();
+            IntBitmapSet b = new IntBitmapSet();
+            TreeSet<Integer> modelA = new TreeSet<>();
+            TreeSet<Integer> modelB = new TreeSet<>();
+            // Vary the densities so every pairing of array and bitmap containers occurs
+            int sizeA = random.nextInt(20_000);
+            int sizeB = random.nextInt(20_000);
+            for (int i = 0; i < sizeA; i++) {
+                int x = key(random);
+                a.insert(x);
+                modelA.add(x);
+            }
+            for (int i = 0; i < sizeB; i++) {
+                int x = key(random);
+                b.insert(x);
+                modelB.add(x);
+            }
+            TreeSet<Integer> and = new TreeSet<>(modelA);
+            and.retainAll(modelB);
+            TreeSet<Integer> or = new TreeSet<>(modelA);
+            or.addAll(modelB);
+            TreeSet<Integer> andNot = new TreeSet<>(modelA);
+            andNot.removeAll(modelB);
+            assertArrayEquals(toArray(and), a.and(b).toArray());
+            assertArrayEquals(toArray(or), a.or(b).toArray());
+            assertArrayEquals(toArray(andNot), a.andNot(b).toArray());
+        }
+    }
+
+    @Test
+    void orderedArrayBitmapModeMatchesModel() throws IOException {
+        Random random = new Random(3200);
+        OrderedArray array = new OrderedArray(12_000);
+        TreeSet<Integer> model = new TreeSet<>();
+        for (int i = 0; i < 8000; i++) {
+            int x = key(random);
+            if (model.add(x)) array.insert(x);
+        }
+        array.enableBitmapMode();
+        assertTrue(array.isBitmapMode());
+        for (int step = 0; step < 20_000; step++) {
+            int x = key(random);
+            if (random.nextBoolean()) {
+                if (model.size() < array.size() || model.contains(x)) {
+                    array.insert(x); // A value already present has no effect
+                    model.add(x);
+                } else {
+                    assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.insert(x));
+                }
+            } else {
+                assertEquals(model.remove(x), array.delete(x));
+            }
+            int probe = key(random);
+            assertEquals(model.contains(probe) ? model.headSet(probe).size() : -1, array.find(probe));
+        }
+        assertEquals(model.size(), array.count());
+        int rank = 0;
+        for (int value : model) {
+            assertEquals(value, array.get(rank++));
+        }
+
+        // Round trip through the codec, in bitmap mode and out of it
+        ArrayCodec codec = new ArrayCodec(new BufferPool(256, 2));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(array, Channels.newChannel(bytes));
+        array.disableBitmapMode();
+        codec.write(array, Channels.newChannel(bytes));
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int copy = 0; copy < 2; copy++) {
+            OrderedArray read = codec.readOrdered(in);
+            assertEquals(array.size(), read.size());
+            assertEquals(model.size(), read.count());
+            rank = 0;
+            for (int value : model) {
+                assertEquals(value, read.get(rank++));
+            }
+        }
+    }
+
+    @Test
+    void unorderedArrayBitmapModeMatchesModel() throws IOException {
+        Random random = new Random(32000);
+        UnorderedArray array = new UnorderedArray(12_000);
+        TreeSet<Integer> model = new TreeSet<>();
+        for (int i = 0; i < 8000; i++) {
+            int x = key(random);
+            if (model.add(x)) array.insert(x);
+        }
+        array.enableBitmapMode();
+        for (int step = 0; step < 20_000; step++) {
+            int x = key(random);
+            if (random.nextBoolean()) {
+                if (model.size() < array.size() || model.contains(x)) {
+                    array.insert(x);
+                    model.add(x);
+                }
+            } else {
+                assertEquals(model.remove(x), array.delete(x));
+            }
+            int probe = key(random);
+            assertEquals(model.contains(probe), array.contains(probe));
+            assertEquals(model.contains(probe) ? model.headSet(probe).size() : -1, array.find(probe));
+        }
+        assertEquals(model.size(), array.count());
+
+        ArrayCodec codec = new ArrayCodec(new BufferPool(256, 2));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(bytes);
+        codec.write(array, out);
+        codec.writeSlotted(array, out);
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()));
+        UnorderedArray packed = codec.readUnordered(in);
+        UnorderedArray slotted = codec.readSlotted(in);
+        for (UnorderedArray read : new UnorderedArray[] {packed, slotted}) {
+            assertEquals(array.size(), read.size());
+            assertEquals(model.size(), read.count());
+            for (int value : model) {
+                assertEquals(array.find(value), read.find(value));
+            }
+        }
+
+        array.disableBitmapMode();
+        assertFalse(array.isBitmapMode());
+        assertEquals(model.size(), array.count());
+        for (int value : model) {
+            assertTrue(array.contains(value));
+        }
+    }
+
+    @Test
+    void bitmapModeRejectsDuplicates() {
+        OrderedArray array = new OrderedArray(4);
+        array.insert(5);
+        array.insert(5);
+        assertThrows(IllegalStateException.class, array::enableBitmapMode);
+        assertFalse(array.isBitmapMode());
+    }
+
+    // Dense chunk around 0, a sparse wide band and a negative cluster
+    private static int key(Random random) {
+        switch (random.nextInt(10)) {
+            case 0: return random.nextInt();
+            case 1: return -200_000 - random.nextInt(3000);
+            default: return random.nextInt(9000);
+        }
+    }
+
+    // Checks membership, count, rank-based find and get, and the full ascending walk
+    private static void assertMatches(TreeSet<Integer> model, IntBitmapSet set, Random random) {
+        assertEquals(model.size(), set.count());
+        int[] expected = toArray(model);
+        assertArrayEquals(expected, set.toArray());
+        IntBitmapSet.Cursor cursor = set.cursor();
+        for (int value : expected) {
+            assertTrue(cursor.hasNext());
+            assertEquals(value, cursor.next());
+        }
+        assertFalse(cursor.hasNext());
+        for (int probe = 0; probe < 200; probe++) {
+            int x = key(random);
+            assertEquals(model.contains(x), set.contains(x));
+            assertEquals(model.contains(x) ? model.headSet(x).size() : -1, set.find(x));
+        }
+        for (int probe = 0; probe < 50 && expected.length > 0; probe++) {
+            int rank = random.nextInt(expected.length);
+            assertEquals(expected[rank], set.get(rank));
+        }
+    }
+
+    private static int[] toArray(TreeSet<Integer> model) {
+        int[] values = new int[model.size()];
+        int i = 0;
+        for (int value : model) {
+            values[i++] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,141 @@
+package LinkedList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NodeIndexTest {
+
+    // Few distinct keys, so most keys have duplicates; null is one of them
+    private static final Integer[] KEYS = {null, 0, 1, 2, 3, 4, 5, 6};
+    private static final int STEPS = 20_000;
+
+    @Test
+    void indexedLinkedListMatchesModel() {
+        Random random = new Random(27);
+        LinkedList<Integer> list = new LinkedList<>(true);
+        java.util.LinkedList<Integer> model = new java.util.LinkedList<>();
+        for (int step = 0; step < STEPS; step++) {
+            Integer key = KEYS[random.nextInt(KEYS.length)];
+            switch (random.nextInt(8)) {
+                case 0 -> {
+                    list.insertFirst(key);
+                    model.addFirst(key);
+                }
+                case 1 -> {
+                    list.insertLast(key);
+                    model.addLast(key);
+                }
+                case 2, 3 -> {
+                    int position = random.nextInt(model.size() + 1);
+                    list.insertAt(key, position);
+                    model.add(position, key);
+                }
+                case 4 -> {
+                    boolean expected = !model.isEmpty();
+                    if (expected) model.removeFirst();
+                    assertEquals(expected, list.deleteFirst());
+                }
+                case 5 -> {
+                    boolean expected = !model.isEmpty();
+                    if (expected) model.removeLast();
+                    assertEquals(expected, list.deleteLast());
+                }
+                case 6 -> {
+                    int position = random.nextInt(model.size() + 2) - 1;
+                    boolean expected = position >= 0 && position < model.size();
+                    if (expected) model.remove(position);
+                    assertEquals(expected, list.deleteAt(position));
+                }
+                default -> assertEquals(model.remove(key), list.deleteKey(key));
+            }
+            assertMatches(model, list);
+        }
+    }
+
+    @Test
+    void indexedDoublyLinkedListMatchesModel() throws IOException {
+        Random random = new Random(270);
+        DoublyLinkedList<Integer> list = new DoublyLinkedList<>(true);
+        java.util.LinkedList<Integer> model = new java.util.LinkedList<>();
+        for (int step = 0; step < STEPS; step++) {
+            Integer key = KEYS[random.nextInt(KEYS.length)];
+            switch (random.nextInt(8)) {
+                case 0 -> {
+                    list.insertFirst(key);
+                    model.addFirst(key);
+                }
+                case 1 -> {
+                    list.insertLast(key);
+                    model.addLast(key);
+                }
+                case 2, 3 -> {
+                    int position = random.nextInt(model.size() + 1);
+                    list.insertAt(key, position);
+                    model.add(position, key);
+                }
+                case 4 -> {
+                    boolean expected = !model.isEmpty();
+                    if (expected) model.removeFirst();
+                    assertEquals(expected, list.deleteFirst());
+                }
+                case 5 -> {
+                    boolean expected = !model.isEmpty();
+                    if (expected) model.removeLast();
+                    assertEquals(expected, list.deleteLast());
+                }
+                case 6 -> {
+                    int position = random.nextInt(model.size() + 2) - 1;
+                    boolean expected = position >= 0 && position < model.size();
+                    if (expected) model.remove(position);
+                    assertEquals(expected, list.deleteAt(position));
+                }
+                default -> assertEquals(model.remove(key), list.deleteKey(key));
+            }
+            assertMatches(model, list);
+        }
+    }
+
+    // Checks contents, size and, for every key, that the index finds its first occurrence
+    private static void assertMatches(List<Integer> model, LinkedList<Integer> list) {
+        assertEquals(model.size(), list.size());
+        assertEquals(model.toString(), list.toString());
+        for (Integer key : KEYS) {
+            int position = model.indexOf(key);
+            assertEquals(position, list.find(key));
+            assertEquals(position >= 0, list.contains(key));
+            Link<Integer> expected = list.firstLink();
+            for (int i = 0; i < position; i++) {
+                expected = expected.next;
+            }
+            assertSame(position >= 0 ? expected : null, list.findNode(key));
+        }
+    }
+
+    // Also walks the backward links
+    private static void assertMatches(List<Integer> model, DoublyLinkedList<Integer> list) throws IOException {
+        assertEquals(model.size(), list.size());
+        assertEquals(model.toString(), list.toString());
+        List<Integer> reversed = new ArrayList<>(model);
+        Collections.reverse(reversed);
+        StringBuilder backward = new StringBuilder();
+        list.writeBackwardTo(backward);
+        assertEquals(reversed.toString(), backward.toString());
+        for (Integer key : KEYS) {
+            int position = model.indexOf(key);
+            assertEquals(position, list.find(key));
+            assertEquals(position >= 0, list.contains(key));
+            DoublyLink<Integer> expected = list.firstLink();
+            for (int i = 0; i < position; i++) {
+                expected = expected.next;
+            }
+            assertSame(position >= 0 ? expected : null, list.findNode(key));
+        }
+    }
+}
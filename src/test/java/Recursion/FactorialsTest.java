@@ -0,0 +1,63 @@
+package Recursion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class FactorialsTest {
+
+    @Test
+    void factorialsMatchNaiveLoop() {
+        // Every n up to well past the 20/21 switch from the table to the prime swing, then
+        // sizes whose swing factors number more than the 1024 of a parallel split
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 2000; n++) {
+            if (n > 0) expected = expected.multiply(BigInteger.valueOf(n));
+            assertEquals(expected, Factorials.factBig(n), "n = " + n);
+            if (n <= 20) {
+                assertEquals(expected.longValueExact(), Factorials.factLong(n));
+            }
+        }
+        for (int n : new int[] {10_000, 20_000, 30_001}) {
+            assertEquals(naiveFactorial(n), Factorials.factBig(n), "n = " + n);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Factorials.factLong(21));
+        assertThrows(IllegalArgumentException.class, () -> Factorials.factBig(-1));
+    }
+
+    @Test
+    void parallelProductMatchesNaiveLoop() {
+        Random random = new Random(39);
+        // A pool of its own runs the parallel split even on a single core
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int count : new int[] {0, 1, 32, 33, 1023, 1024, 1025, 5000}) {
+                long[] factors = new long[count + 2];
+                for (int i = 0; i < factors.length; i++) {
+                    // Mostly small factors, with the odd one near Long.MAX_VALUE
+                    factors[i] = random.nextInt(50) == 0 ? Long.MAX_VALUE - random.nextInt(1000) : 1 + random.nextInt(Integer.MAX_VALUE);
+                }
+                BigInteger expected = BigInteger.ONE;
+                for (int i = 1; i <= count; i++) {
+                    expected = expected.multiply(BigInteger.valueOf(factors[i]));
+                }
+                assertEquals(expected, Factorials.product(factors, 1, count + 1, pool), "count = " + count);
+                assertEquals(expected, Factorials.product(factors, 1, count + 1), "count = " + count);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static BigInteger naiveFactorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+}
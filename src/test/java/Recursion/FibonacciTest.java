@@ -0,0 +1,62 @@
+package Recursion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+class FibonacciTest {
+
+    private final RecursiveSolution recursive = new RecursiveSolution();
+    private final IterativeSolution iterative = new IterativeSolution();
+
+    @Test
+    void bothSolutionsAgree() {
+        for (int n = 0; n <= 92; n++) {
+            assertEquals(iterative.fibLong(n), recursive.fibLong(n));
+            assertEquals(BigInteger.valueOf(recursive.fibLong(n)), recursive.fibBig(n));
+        }
+        for (int n : new int[] {93, 94, 1000, 4097, 100_000, 100_001}) {
+            assertEquals(iterative.fibBig(n), recursive.fibBig(n));
+        }
+        // Consecutive values from cached pairs still satisfy the recurrence
+        assertEquals(recursive.fibBig(200_000).add(recursive.fibBig(200_001)), recursive.fibBig(200_002));
+    }
+
+    @Test
+    void memoEvictsByBitLength() {
+        RecursiveSolution.FibMemo memo = new RecursiveSolution.FibMemo(1000);
+        BigInteger[] small = {BigInteger.ONE.shiftLeft(99), BigInteger.ONE.shiftLeft(199)}; // 300 bits
+        memo.put(1, small);
+        memo.put(2, small);
+        memo.put(3, small);
+        assertEquals(900, memo.bits());
+        memo.get(1); // Now more recently used than 2
+        memo.put(4, small);
+        assertEquals(900, memo.bits());
+        assertNull(memo.get(2));
+        assertNotNull(memo.get(1));
+
+        // A pair over the whole budget is not kept and evicts nothing
+        memo.put(5, new BigInteger[] {BigInteger.ONE.shiftLeft(600), BigInteger.ONE.shiftLeft(600)});
+        assertNull(memo.get(5));
+        assertEquals(900, memo.bits());
+
+        // Neither the array given nor the one returned is the stored one
+        BigInteger[] given = {BigInteger.TEN, BigInteger.TWO};
+        memo.put(6, given);
+        given[0] = BigInteger.ZERO;
+        BigInteger[] returned = memo.get(6);
+        assertEquals(BigInteger.TEN, returned[0]);
+        returned[0] = BigInteger.ZERO;
+        assertEquals(BigInteger.TEN, memo.get(6)[0]);
+        assertTrue(memo.bits() <= 1000);
+
+        memo.clear();
+        assertEquals(0, memo.bits());
+        assertNull(memo.get(1));
+    }
+}
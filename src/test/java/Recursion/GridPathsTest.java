@@ -0,0 +1,157 @@
+package Recursion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class GridPathsTest {
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    @Test
+    void openGridsMatchPlainDp() {
+        for (int rows = 0; rows <= 40; rows++) {
+            for (int columns = 0; columns <= 40; columns++) {
+                int n = rows;
+                int m = columns;
+                BigInteger expected = plainDp(new boolean[n][m]);
+                assertEquals(expected, GridPaths.countBig(n, m), n + " x " + m);
+                assertEquals(expected, GridPaths.countBig(new boolean[n][m]), n + " x " + m);
+                assertLongMatches(expected, () -> GridPaths.countLong(n, m));
+            }
+        }
+    }
+
+    @Test
+    void countLongOverflowsExactlyWhenTheCountDoes() {
+        // C(n + m - 2, n - 1) crosses Long.MAX_VALUE around n = m = 34; the gcd step must
+        // neither overflow early nor miss a real overflow
+        for (int rows = 1; rows <= 70; rows++) {
+            for (int columns = 1; columns <= 70; columns++) {
+                int n = rows;
+                int m = columns;
+                BigInteger exact = GridPaths.countBig(n, m);
+                assertEquals(binomial(n + m - 2, Math.min(n, m) - 1), exact);
+                assertLongMatches(exact, () -> GridPaths.countLong(n, m));
+            }
+        }
+    }
+
+    @Test
+    void randomBlockedGridsMatchPlainDp() {
+        Random random = new Random(36);
+        for (int round = 0; round < 500; round++) {
+            int rows = random.nextInt(60);
+            int columns = random.nextInt(60);
+            double density = random.nextDouble() * 0.3;
+            boolean[][] blocked = randomGrid(random, rows, columns, density);
+            BigInteger expected = plainDp(blocked);
+            assertEquals(expected, GridPaths.countBig(blocked));
+            assertLongMatches(expected, () -> GridPaths.countLong(blocked));
+        }
+    }
+
+    @Test
+    void overflowBehindAWallIsNotReported() {
+        // Open 70 x 70 interior whose paths (far beyond a long) are all cut off from the
+        // corner; only the path along the top row and down the last column gets through
+        int n = 70;
+        boolean[][] blocked = new boolean[n][n];
+        for (int r = 1; r < n; r++) {
+            blocked[r][n - 2] = true;
+        }
+        assertEquals(1, GridPaths.countLong(blocked));
+        assertEquals(BigInteger.ONE, GridPaths.countBig(blocked));
+    }
+
+    @Test
+    void gridsAroundTheParallelThresholdMatchPlainDp() {
+        Random random = new Random(360);
+        // Just below 2^20 cells runs line by line, at and above it by wavefronts unless the
+        // short side fits in one chunk; tall grids are read transposed. A pool of its own runs
+        // the wavefronts even on a single core
+        int[][] shapes = {{1023, 1024}, {1024, 1024}, {2048, 512}, {4096, 256}, {1, 1 << 20}};
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int[] shape : shapes) {
+                boolean[][] blocked = randomGrid(random, shape[0], shape[1], shape[0] == 1 ? 0 : 0.1);
+                assertEquals(plainDp(blocked), GridPaths.countBig(blocked, pool), shape[0] + " x " + shape[1]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsMalformedGrids() {
+        assertThrows(IllegalArgumentException.class, () -> GridPaths.countBig(null));
+        assertThrows(IllegalArgumentException.class, () -> GridPaths.countLong(new boolean[][] {{false}, {false, false}}));
+        assertThrows(IllegalArgumentException.class, () -> GridPaths.countLong(-1, 3));
+    }
+
+    // Obstacles everywhere but the corners, which are left open most of the time
+    private static boolean[][] randomGrid(Random random, int rows, int columns, double density) {
+        boolean[][] blocked = new boolean[rows][columns];
+        for (boolean[] row : blocked) {
+            for (int c = 0; c < columns; c++) {
+                row[c] = random.nextDouble() < density;
+            }
+        }
+        if (rows > 0 && columns > 0 && random.nextInt(10) > 0) {
+            blocked[0][0] = false;
+            blocked[rows - 1][columns - 1] = false;
+        }
+        return blocked;
+    }
+
+    // Row-by-row O(rows * columns) count: each open cell adds the cells above and to its left
+    private static BigInteger plainDp(boolean[][] blocked) {
+        int rows = blocked.length;
+        int columns = rows == 0 ? 0 : blocked[0].length;
+        if (rows == 0 || columns == 0) {
+            return BigInteger.ZERO;
+        }
+        BigInteger[] above = new BigInteger[columns];
+        Arrays.fill(above, BigInteger.ZERO);
+        for (int r = 0; r < rows; r++) {
+            BigInteger[] row = new BigInteger[columns];
+            for (int c = 0; c < columns; c++) {
+                if (blocked[r][c]) {
+                    row[c] = BigInteger.ZERO;
+                } else if (r == 0 && c == 0) {
+                    row[c] = BigInteger.ONE;
+                } else {
+                    row[c] = above[c].add(c > 0 ? row[c - 1] : BigInteger.ZERO);
+                }
+            }
+            above = row;
+        }
+        return above[columns - 1];
+    }
+
+    private static BigInteger binomial(int n, int k) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 1; i <= k; i++) {
+            result = result.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    private interface LongCount {
+        long get();
+    }
+
+    // The long count equals the exact one when it fits and throws ArithmeticException otherwise
+    private static void assertLongMatches(BigInteger expected, LongCount count) {
+        if (expected.compareTo(LONG_MAX) <= 0) {
+            assertEquals(expected.longValueExact(), count.get());
+        } else {
+            assertThrows(ArithmeticException.class, count::get);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package Recursion;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NumericBatchTest {
+
+    @Test
+    void gcdMatchesBigInteger() {
+        Random random = new Random(40);
+        int[] edges = {0, 1, 2, 3, 64, 1 << 30, Integer.MAX_VALUE, Integer.MAX_VALUE - 1};
+        for (int a : edges) {
+            for (int b : edges) {
+                assertEquals(bigGcd(a, b), NumericBatch.gcd(a, b), a + ", " + b);
+            }
+        }
+        int n = 100_000;
+        int[] a = new int[n];
+        int[] b = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Shared powers of two and odd factors, so the results are rarely 1
+            int common = (1 + random.nextInt(1000)) << random.nextInt(8);
+            a[i] = random.nextInt(10) == 0 ? 0 : common * (1 + random.nextInt(1000));
+            b[i] = random.nextInt(10) == 0 ? random.nextInt(Integer.MAX_VALUE) : common * (1 + random.nextInt(1000));
+        }
+        int[] out = new int[n];
+        NumericBatch.gcd(a, b, out);
+        for (int i = 0; i < n; i++) {
+            assertEquals(bigGcd(a[i], b[i]), out[i]);
+        }
+    }
+
+    @Test
+    void gcdAllAndLcmAllMatchBigInteger() {
+        Random random = new Random(400);
+        for (int round = 0; round < 2000; round++) {
+            int[] values = new int[random.nextInt(8)];
+            int common = 1 + random.nextInt(60);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(20) == 0 ? 0 : common * (1 + random.nextInt(round < 1000 ? 30 : 1 << 20));
+            }
+            BigInteger gcd = BigInteger.ZERO;
+            BigInteger lcm = BigInteger.ONE;
+            for (int value : values) {
+                BigInteger v = BigInteger.valueOf(value);
+                gcd = gcd.gcd(v);
+                lcm = value == 0 || lcm.signum() == 0 ? BigInteger.ZERO : lcm.multiply(v).divide(lcm.gcd(v));
+            }
+            assertEquals(gcd.intValueExact(), NumericBatch.gcdAll(values));
+            if (lcm.bitLength() < 64) {
+                assertEquals(lcm.longValueExact(), NumericBatch.lcmAll(values));
+            } else {
+                assertThrows(ArithmeticException.class, () -> NumericBatch.lcmAll(values));
+            }
+        }
+        assertEquals(0, NumericBatch.gcdAll(new int[0]));
+        assertEquals(0, NumericBatch.gcdAll(new int[] {0, 0}));
+        assertEquals(1, NumericBatch.lcmAll(new int[0]));
+        assertEquals(0, NumericBatch.lcmAll(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 2, 0}));
+    }
+
+    @Test
+    void negativeInputsAreRejectedEvenAfterAnEarlyExit() {
+        // gcdAll stops at a running GCD of 1 and lcmAll at a 0; neither may skip validation
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.gcdAll(new int[] {1, -5}));
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.gcdAll(new int[] {2, 3, Integer.MIN_VALUE}));
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.lcmAll(new int[] {0, -5}));
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.lcmAll(new int[] {-1}));
+
+        int[] out = {7, 7, 7};
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.gcd(new int[] {4, 6, 8}, new int[] {2, 3, -4}, out));
+        assertArrayEquals(new int[] {7, 7, 7}, out);
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.gcd(new int[] {4, 6}, new int[] {2}, out));
+    }
+
+    @Test
+    void fibAllAndFactAllMatchTables() {
+        int[] n = new int[93];
+        for (int i = 0; i < n.length; i++) {
+            n[i] = i;
+        }
+        long[] out = new long[n.length];
+        NumericBatch.fibAll(n, out);
+        BigInteger previous = BigInteger.ONE; // F(-1)
+        BigInteger current = BigInteger.ZERO;
+        for (int i = 0; i < n.length; i++) {
+            assertEquals(current.longValueExact(), out[i]);
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+
+        int[] small = {0, 1, 5, 20};
+        long[] facts = new long[4];
+        NumericBatch.factAll(small, facts);
+        assertArrayEquals(new long[] {1, 1, 120, 2432902008176640000L}, facts);
+
+        long[] untouched = {3, 3};
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.fibAll(new int[] {5, 93}, untouched));
+        assertThrows(IllegalArgumentException.class, () -> NumericBatch.factAll(new int[] {-1, 2}, untouched));
+        assertArrayEquals(new long[] {3, 3}, untouched);
+    }
+
+    private static int bigGcd(int a, int b) {
+        return BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).intValueExact();
+    }
+}
@@ -0,0 +1,68 @@
+package Recursion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TrampolineTest {
+
+    private static final int DEPTH = 10_000_000;
+
+    /** Non-tail recursion: each level adds to the result of the level below. */
+    private static Trampoline<Long> sumTo(int n) {
+        if (n == 0) {
+            return Trampoline.done(0L);
+        }
+        return Trampoline.more(() -> sumTo(n - 1)).map(sum -> sum + n);
+    }
+
+    /** Tail recursion: the result is passed down. */
+    private static Trampoline<Integer> countDown(int n, int steps) {
+        if (n == 0) {
+            return Trampoline.done(steps);
+        }
+        return Trampoline.more(() -> countDown(n - 1, steps + 1));
+    }
+
+    /** Recursion on both sides of the continuation, through flatMap. */
+    private static Trampoline<Integer> depth(int n) {
+        if (n == 0) {
+            return Trampoline.done(0);
+        }
+        return Trampoline.more(() -> depth(n - 1)).flatMap(d -> Trampoline.done(d + 1));
+    }
+
+    @Test
+    void nonTailRecursionOfDepthTenMillion() {
+        assertEquals((long) DEPTH * (DEPTH + 1) / 2, sumTo(DEPTH).run());
+    }
+
+    @Test
+    void tailRecursionOfDepthTenMillion() {
+        assertEquals(DEPTH, countDown(DEPTH, 0).run());
+    }
+
+    @Test
+    void flatMapRecursionOfDepthTenMillion() {
+        assertEquals(DEPTH, depth(DEPTH).run());
+    }
+
+    @Test
+    void triRunsAtItsLargestInput() {
+        assertEquals(65535L * 65536 / 2, new RecursiveSolution().tri(65535));
+    }
+
+    @Test
+    void stringMethodsHandleLongInputs() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1_000_000; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        RecursiveSolution solution = new RecursiveSolution();
+        assertEquals(new StringBuilder(text).reverse().toString(), solution.reverseStr(text.toString()));
+        assertTrue(solution.hasChar(text.toString(), 'z'));
+        assertFalse(solution.hasChar(text.toString(), '!'));
+    }
+}